@@ -0,0 +1,69 @@
+package com.employeemanagement.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+
+// small HTTP client shared by the benchmarks: registers an ADMIN, logs in and sends authorized requests
+public class BenchmarkClient {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final HttpClient http = HttpClient.newBuilder()
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .connectTimeout(Duration.ofSeconds(10))
+            .build();
+
+    private final String baseUrl;
+
+    private String token;
+
+    public BenchmarkClient(String baseUrl) {
+        this.baseUrl = baseUrl;
+    }
+
+    public String getBaseUrl() {
+        return baseUrl;
+    }
+
+    // registers the account if needed and keeps the token for later requests
+    public String login(String email, String password) throws IOException, InterruptedException {
+        post("/auth/register", "{\"name\":\"Benchmark\",\"email\":\"" + email + "\",\"password\":\"" + password + "\",\"role\":\"ADMIN\"}");
+
+        HttpResponse<String> response = post("/auth/login", "{\"email\":\"" + email + "\",\"password\":\"" + password + "\"}");
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Login failed with " + response.statusCode() + ": " + response.body());
+        }
+        token = MAPPER.readTree(response.body()).path("data").path("token").asText();
+        return token;
+    }
+
+    public HttpResponse<String> send(String method, String path, String jsonBody) throws IOException, InterruptedException {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(Duration.ofSeconds(30))
+                .header("Content-Type", "application/json");
+        if (token != null) {
+            request.header("Authorization", "Bearer " + token);
+        }
+        request.method(method, jsonBody == null ? HttpRequest.BodyPublishers.noBody() : HttpRequest.BodyPublishers.ofString(jsonBody));
+        return http.send(request.build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    public HttpResponse<String> get(String path) throws IOException, InterruptedException {
+        return send("GET", path, null);
+    }
+
+    public HttpResponse<String> post(String path, String jsonBody) throws IOException, InterruptedException {
+        return send("POST", path, jsonBody);
+    }
+
+    public static ObjectMapper mapper() {
+        return MAPPER;
+    }
+}
@@ -0,0 +1,382 @@
+package com.employeemanagement.benchmark;
+
+import com.employeemanagement.Application;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// End-to-end load test of EmployeeController.
+//
+// Boots the application on a random port with in-memory H2, seeds employees through the bulk endpoint, logs in
+// through /auth/login and runs a weighted mix of list, get, search, create, update and delete calls from
+// concurrent clients. Latencies are recorded per endpoint in HdrHistograms; the summary is printed and written
+// as JSON to target/load-test-report.json (benchmark.report) so runs on different commits can be diffed.
+//
+//   ./mvnw -Pbenchmark test-compile exec:java -Dbenchmark.main=com.employeemanagement.benchmark.LoadTest \
+//       -Dbenchmark.clients=128 -Dbenchmark.mix=list=50,get=30,search=10,create=4,update=4,delete=2
+//
+// Program arguments are passed on to the application, e.g. -Dexec.args="--spring.profiles.active=virtual-threads"
+public class LoadTest {
+
+    private static final int CLIENTS = Integer.getInteger("benchmark.clients", 64);
+    private static final long DURATION_SECONDS = Long.getLong("benchmark.duration-seconds", 30);
+    private static final long WARMUP_SECONDS = Long.getLong("benchmark.warmup-seconds", 10);
+    private static final int SEED_EMPLOYEES = Integer.getInteger("benchmark.seed-employees", 5000);
+    private static final String MIX = System.getProperty("benchmark.mix", "list=40,get=30,search=15,create=5,update=5,delete=5");
+    private static final String REPORT = System.getProperty("benchmark.report", "target/load-test-report.json");
+    // off by default so the numbers show the endpoints, not requests shed by the limiter
+    private static final boolean CONCURRENCY_LIMIT = Boolean.getBoolean("benchmark.concurrency-limit");
+
+    // one minute in microseconds is far above any sane response time, 3 significant digits
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(1);
+
+    private static final String[] DEPARTMENTS = {"Sales", "Marketing", "Development", "HR", "Testing", "Finance", "Support"};
+    private static final String[] QUERIES = {"john", "smith", "dev", "sales", "mar", "hr", "son", "white"};
+    private static final String[] SORTS = {"name,asc", "id,asc", "salary,desc", "age,asc"};
+
+    private enum Operation { LIST, GET, SEARCH, CREATE, UPDATE, DELETE }
+
+    public static void main(String[] args) throws Exception {
+        Map<Operation, Integer> mix = parseMix(MIX);
+        System.out.printf("clients=%d duration=%ds warmup=%ds seed=%d mix=%s%n",
+                CLIENTS, DURATION_SECONDS, WARMUP_SECONDS, SEED_EMPLOYEES, mix);
+
+        List<String> applicationArgs = new ArrayList<>(List.of(
+                "--server.port=0",
+                "--spring.datasource.url=jdbc:h2:mem:load-test;DB_CLOSE_DELAY=-1",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.jpa.show-sql=false",
+                "--logging.level.root=WARN",
+                "--app.concurrency.enabled=" + CONCURRENCY_LIMIT));
+        applicationArgs.addAll(Arrays.asList(args));
+
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(Application.class)
+                .run(applicationArgs.toArray(String[]::new))) {
+            int port = context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+            BenchmarkClient client = new BenchmarkClient("http://localhost:" + port);
+            client.login("loadtest@example.com", "loadtest1");
+
+            IdPool ids = new IdPool();
+            seed(client, ids);
+            System.out.printf("Seeded %d employees%n", ids.size());
+
+            Workload workload = new Workload(client, ids, mix);
+            workload.run(Duration.ofSeconds(WARMUP_SECONDS));
+            workload.reset();
+
+            Instant started = Instant.now();
+            workload.run(Duration.ofSeconds(DURATION_SECONDS));
+            double seconds = Duration.between(started, Instant.now()).toNanos() / 1e9;
+
+            Map<String, Object> report = workload.report(seconds);
+            print(report);
+            write(report, args);
+        }
+    }
+
+    private static void seed(BenchmarkClient client, IdPool ids) throws IOException, InterruptedException {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        StringBuilder body = new StringBuilder("[");
+        for (int i = 0; i < SEED_EMPLOYEES; i++) {
+            if (i > 0) {
+                body.append(',');
+            }
+            body.append(employeeJson("Seed Employee " + i, DEPARTMENTS[random.nextInt(DEPARTMENTS.length)], "seed" + i));
+        }
+        body.append(']');
+        HttpResponse<String> imported = client.post("/api/employees/bulk", body.toString());
+        if (imported.statusCode() != 200) {
+            throw new IllegalStateException("Seeding failed with " + imported.statusCode() + ": " + imported.body());
+        }
+
+        // the export is the cheapest way to learn every id
+        HttpResponse<String> export = client.get("/api/employees/export?format=ndjson");
+        ObjectMapper mapper = BenchmarkClient.mapper();
+        for (String line : export.body().split("\n")) {
+            if (!line.isBlank()) {
+                ids.add(mapper.readTree(line).path("id").asLong());
+            }
+        }
+    }
+
+    private static String employeeJson(String name, String department, String emailPrefix) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return "{\"name\":\"" + name + "\",\"department\":\"" + department + "\",\"age\":" + random.nextInt(18, 65)
+                + ",\"email\":\"" + emailPrefix + "@example.com\",\"salary\":" + random.nextInt(30_000, 130_000) + ".00}";
+    }
+
+    private static Map<Operation, Integer> parseMix(String mix) {
+        Map<Operation, Integer> weights = new LinkedHashMap<>();
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.trim().split("=");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Invalid benchmark.mix entry '" + entry + "', expected operation=weight");
+            }
+            int weight = Integer.parseInt(parts[1].trim());
+            if (weight > 0) {
+                weights.put(Operation.valueOf(parts[0].trim().toUpperCase()), weight);
+            }
+        }
+        if (weights.isEmpty()) {
+            throw new IllegalArgumentException("benchmark.mix has no operation with a positive weight");
+        }
+        return weights;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void print(Map<String, Object> report) {
+        System.out.println();
+        System.out.printf("%-8s %10s %8s %10s %10s %10s %10s %10s%n",
+                "endpoint", "requests", "errors", "req/s", "p50 ms", "p99 ms", "p999 ms", "max ms");
+        Map<String, Map<String, Object>> endpoints = (Map<String, Map<String, Object>>) report.get("endpoints");
+        endpoints.forEach((name, stats) -> System.out.printf("%-8s %10d %8d %10.1f %10.2f %10.2f %10.2f %10.2f%n",
+                name, stats.get("requests"), stats.get("errors"), stats.get("throughput"),
+                stats.get("p50Ms"), stats.get("p99Ms"), stats.get("p999Ms"), stats.get("maxMs")));
+        System.out.printf("%-8s %10d %8d %10.1f%n", "total", report.get("requests"), report.get("errors"), report.get("throughput"));
+    }
+
+    private static void write(Map<String, Object> report, String[] args) throws IOException {
+        Map<String, Object> document = new LinkedHashMap<>();
+        document.put("timestamp", Instant.now().toString());
+        document.put("commit", gitCommit());
+        Map<String, Object> config = new LinkedHashMap<>();
+        config.put("clients", CLIENTS);
+        config.put("durationSeconds", DURATION_SECONDS);
+        config.put("warmupSeconds", WARMUP_SECONDS);
+        config.put("seedEmployees", SEED_EMPLOYEES);
+        config.put("mix", MIX);
+        config.put("concurrencyLimit", CONCURRENCY_LIMIT);
+        config.put("applicationArgs", args);
+        config.put("javaVersion", System.getProperty("java.version"));
+        config.put("processors", Runtime.getRuntime().availableProcessors());
+        document.put("config", config);
+        document.putAll(report);
+
+        Path path = Path.of(REPORT);
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        BenchmarkClient.mapper().writerWithDefaultPrettyPrinter().writeValue(path.toFile(), document);
+        System.out.println("Report written to " + path.toAbsolutePath());
+    }
+
+    private static String gitCommit() {
+        try {
+            Process process = new ProcessBuilder("git", "rev-parse", "--short", "HEAD").redirectErrorStream(true).start();
+            String output = new String(process.getInputStream().readAllBytes(), StandardCharsets.UTF_8).trim();
+            return process.waitFor() == 0 ? output : "unknown";
+        } catch (IOException e) {
+            return "unknown";
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return "unknown";
+        }
+    }
+
+    private static class Workload {
+
+        private final BenchmarkClient client;
+        private final IdPool ids;
+        private final Operation[] operations;
+        private final int[] cumulativeWeights;
+        private final Map<Operation, Histogram> histograms = new LinkedHashMap<>();
+        private final Map<Operation, AtomicLong> errors = new LinkedHashMap<>();
+        private final AtomicLong created = new AtomicLong();
+
+        Workload(BenchmarkClient client, IdPool ids, Map<Operation, Integer> mix) {
+            this.client = client;
+            this.ids = ids;
+            operations = mix.keySet().toArray(Operation[]::new);
+            cumulativeWeights = new int[operations.length];
+            int total = 0;
+            for (int i = 0; i < operations.length; i++) {
+                total += mix.get(operations[i]);
+                cumulativeWeights[i] = total;
+                histograms.put(operations[i], new ConcurrentHistogram(1, HIGHEST_TRACKABLE_MICROS, 3));
+                errors.put(operations[i], new AtomicLong());
+            }
+        }
+
+        void reset() {
+            histograms.values().forEach(Histogram::reset);
+            errors.values().forEach(counter -> counter.set(0));
+        }
+
+        void run(Duration duration) {
+            long deadline = System.nanoTime() + duration.toNanos();
+            try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+                for (int i = 0; i < CLIENTS; i++) {
+                    executor.submit(() -> {
+                        while (System.nanoTime() < deadline) {
+                            Operation operation = next();
+                            long start = System.nanoTime();
+                            boolean ok;
+                            try {
+                                ok = execute(operation);
+                            } catch (IOException e) {
+                                ok = false;
+                            } catch (InterruptedException e) {
+                                Thread.currentThread().interrupt();
+                                return;
+                            }
+                            long micros = Math.min((System.nanoTime() - start) / 1000, HIGHEST_TRACKABLE_MICROS);
+                            histograms.get(operation).recordValue(micros);
+                            if (!ok) {
+                                errors.get(operation).incrementAndGet();
+                            }
+                        }
+                    });
+                }
+            }
+        }
+
+        private Operation next() {
+            int pick = ThreadLocalRandom.current().nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+            for (int i = 0; i < cumulativeWeights.length; i++) {
+                if (pick < cumulativeWeights[i]) {
+                    return operations[i];
+                }
+            }
+            return operations[operations.length - 1];
+        }
+
+        private boolean execute(Operation operation) throws IOException, InterruptedException {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            switch (operation) {
+                case LIST -> {
+                    String sort = SORTS[random.nextInt(SORTS.length)];
+                    return succeeded(client.get("/api/employees?page=" + random.nextInt(20) + "&size=20&sort=" + sort));
+                }
+                case GET -> {
+                    long id = ids.random();
+                    // a concurrent delete can take the id away, that is not a server error
+                    return id < 0 || succeededOrGone(client.get("/api/employees/" + id));
+                }
+                case SEARCH -> {
+                    return succeeded(client.get("/api/employees/search?query=" + QUERIES[random.nextInt(QUERIES.length)]));
+                }
+                case CREATE -> {
+                    long n = created.incrementAndGet();
+                    HttpResponse<String> response = client.post("/api/employees",
+                            employeeJson("Load Employee " + n, DEPARTMENTS[random.nextInt(DEPARTMENTS.length)], "load" + n + "-" + random.nextInt(1_000_000)));
+                    if (!succeeded(response)) {
+                        return false;
+                    }
+                    JsonNode body = BenchmarkClient.mapper().readTree(response.body());
+                    ids.add(body.path("data").path("id").asLong());
+                    return true;
+                }
+                case UPDATE -> {
+                    long id = ids.random();
+                    if (id < 0) {
+                        return true;
+                    }
+                    return succeededOrGone(client.send("PUT", "/api/employees/" + id,
+                            employeeJson("Updated Employee " + id, DEPARTMENTS[random.nextInt(DEPARTMENTS.length)], "updated" + id)));
+                }
+                case DELETE -> {
+                    long id = ids.take();
+                    return id < 0 || succeededOrGone(client.send("DELETE", "/api/employees/" + id, null));
+                }
+                default -> throw new IllegalStateException("Unknown operation " + operation);
+            }
+        }
+
+        private static boolean succeeded(HttpResponse<?> response) {
+            return response.statusCode() / 100 == 2;
+        }
+
+        private static boolean succeededOrGone(HttpResponse<?> response) {
+            return succeeded(response) || response.statusCode() == 404;
+        }
+
+        Map<String, Object> report(double seconds) {
+            Map<String, Object> endpoints = new LinkedHashMap<>();
+            long totalRequests = 0;
+            long totalErrors = 0;
+            for (Operation operation : operations) {
+                Histogram histogram = histograms.get(operation);
+                long requests = histogram.getTotalCount();
+                long failed = errors.get(operation).get();
+                totalRequests += requests;
+                totalErrors += failed;
+
+                Map<String, Object> stats = new LinkedHashMap<>();
+                stats.put("requests", requests);
+                stats.put("errors", failed);
+                stats.put("throughput", requests / seconds);
+                stats.put("meanMs", histogram.getMean() / 1000);
+                stats.put("p50Ms", histogram.getValueAtPercentile(50) / 1000.0);
+                stats.put("p90Ms", histogram.getValueAtPercentile(90) / 1000.0);
+                stats.put("p99Ms", histogram.getValueAtPercentile(99) / 1000.0);
+                stats.put("p999Ms", histogram.getValueAtPercentile(99.9) / 1000.0);
+                stats.put("maxMs", histogram.getMaxValue() / 1000.0);
+                endpoints.put(operation.name().toLowerCase(), stats);
+            }
+
+            Map<String, Object> report = new LinkedHashMap<>();
+            report.put("durationSeconds", seconds);
+            report.put("requests", totalRequests);
+            report.put("errors", totalErrors);
+            report.put("throughput", totalRequests / seconds);
+            report.put("endpoints", endpoints);
+            return report;
+        }
+    }
+
+    // ids known to exist, random access for get/update and removal for delete
+    private static class IdPool {
+
+        private long[] ids = new long[1024];
+        private int size;
+
+        synchronized void add(long id) {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            ids[size++] = id;
+        }
+
+        synchronized int size() {
+            return size;
+        }
+
+        // -1 when empty
+        synchronized long random() {
+            return size == 0 ? -1 : ids[ThreadLocalRandom.current().nextInt(size)];
+        }
+
+        // removes and returns a random id, -1 when empty
+        synchronized long take() {
+            if (size == 0) {
+                return -1;
+            }
+            int index = ThreadLocalRandom.current().nextInt(size);
+            long id = ids[index];
+            ids[index] = ids[--size];
+            return id;
+        }
+    }
+}
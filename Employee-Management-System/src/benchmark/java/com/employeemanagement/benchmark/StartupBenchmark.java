@@ -0,0 +1,211 @@
+package com.employeemanagement.benchmark;
+
+import com.employeemanagement.config.TargetCostBCryptPasswordEncoder;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.support.PropertiesLoaderUtils;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.ServerSocket;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// Cold start: time from launching a fresh JVM to the first successful POST /auth/login.
+//
+// Each mode is started benchmark.runs times in its own process:
+//   default    application.properties as is: in-memory H2, ddl-auto=update, schema.sql and data.sql
+//   faststart  the faststart profile against an H2 file database prepared up front (schema, data, login user)
+// The login user is present from the start in both modes, so only startup is measured. Prints min/median/max
+// and writes target/startup-report.json (benchmark.report).
+//
+//   ./mvnw -Pbenchmark test-compile exec:java -Dbenchmark.main=com.employeemanagement.benchmark.StartupBenchmark
+//
+// To measure the packaged jar with Spring AOT and the CDS archive built like the Dockerfile does:
+//   -Dbenchmark.startup.jar=application/app.jar -Dbenchmark.startup.modes=faststart \
+//   -Dbenchmark.startup.jvm-args="-XX:SharedArchiveFile=application/app.jsa -Dspring.aot.enabled=true"
+public class StartupBenchmark {
+
+    private static final int RUNS = Integer.getInteger("benchmark.runs", 5);
+    private static final String MODES = System.getProperty("benchmark.startup.modes", "default,faststart");
+    private static final String JAR = System.getProperty("benchmark.startup.jar");
+    private static final String JVM_ARGS = System.getProperty("benchmark.startup.jvm-args", "");
+    private static final long TIMEOUT_SECONDS = Long.getLong("benchmark.startup.timeout-seconds", 120);
+    private static final String REPORT = System.getProperty("benchmark.report", "target/startup-report.json");
+
+    private static final Path WORK = Path.of("target", "startup-benchmark").toAbsolutePath();
+
+    private static final String EMAIL = "startup@example.com";
+    private static final String PASSWORD = "startup1";
+
+    public static void main(String[] args) throws Exception {
+        FileSystemUtils.deleteRecursively(WORK);
+        Files.createDirectories(WORK);
+        String userInsert = userInsert();
+
+        Map<String, Object> modes = new LinkedHashMap<>();
+        for (String mode : MODES.split(",")) {
+            List<String> applicationArgs = prepare(mode.trim(), userInsert);
+            long[] millis = new long[RUNS];
+            for (int run = 0; run < RUNS; run++) {
+                millis[run] = timeToFirstLogin(applicationArgs, run);
+                System.out.printf("%-10s run %d: %d ms%n", mode, run + 1, millis[run]);
+            }
+            Arrays.sort(millis);
+            Map<String, Object> stats = new LinkedHashMap<>();
+            stats.put("runs", millis.length);
+            stats.put("minMs", millis[0]);
+            stats.put("medianMs", millis[millis.length / 2]);
+            stats.put("maxMs", millis[millis.length - 1]);
+            modes.put(mode.trim(), stats);
+        }
+
+        System.out.println();
+        System.out.printf("%-10s %10s %10s %10s%n", "mode", "min ms", "median ms", "max ms");
+        modes.forEach((mode, stats) -> {
+            Map<?, ?> values = (Map<?, ?>) stats;
+            System.out.printf("%-10s %10d %10d %10d%n", mode, values.get("minMs"), values.get("medianMs"), values.get("maxMs"));
+        });
+        write(modes);
+    }
+
+    // application arguments for the mode, preparing whatever database it expects
+    private static List<String> prepare(String mode, String userInsert) throws Exception {
+        List<String> args = new ArrayList<>(List.of("--spring.datasource.username=sa", "--spring.datasource.password=",
+                "--logging.level.root=WARN"));
+        switch (mode) {
+            case "default" -> {
+                Path users = WORK.resolve("users.sql");
+                Files.writeString(users, userInsert + ";\n");
+                args.add("--spring.datasource.url=jdbc:h2:mem:startup;DB_CLOSE_DELAY=-1");
+                args.add("--spring.sql.init.data-locations=classpath:data.sql,file:" + users);
+            }
+            case "faststart" -> {
+                // what a migrated production database looks like, nothing is created at boot
+                String url = "jdbc:h2:file:" + WORK.resolve("db").resolve("employee");
+                try (Connection connection = DriverManager.getConnection(url, "sa", "")) {
+                    ScriptUtils.executeSqlScript(connection, new ClassPathResource("schema.sql"));
+                    ScriptUtils.executeSqlScript(connection, new ClassPathResource("data.sql"));
+                    try (PreparedStatement statement = connection.prepareStatement(userInsert)) {
+                        statement.executeUpdate();
+                    }
+                }
+                args.add("--spring.profiles.active=faststart");
+                args.add("--spring.datasource.url=" + url);
+            }
+            default -> throw new IllegalArgumentException("Unknown mode: " + mode);
+        }
+        return args;
+    }
+
+    private static long timeToFirstLogin(List<String> applicationArgs, int run) throws Exception {
+        int port = freePort();
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        if (!JVM_ARGS.isBlank()) {
+            command.addAll(List.of(JVM_ARGS.trim().split("\\s+")));
+        }
+        if (JAR != null) {
+            command.addAll(List.of("-jar", JAR));
+        } else {
+            command.addAll(List.of("-cp", classPath(), "com.employeemanagement.Application"));
+        }
+        command.addAll(applicationArgs);
+        command.add("--server.port=" + port);
+        command.add("--app.audit.directory=" + WORK.resolve("audit-" + run));
+
+        BenchmarkClient client = new BenchmarkClient("http://localhost:" + port);
+        String login = "{\"email\":\"" + EMAIL + "\",\"password\":\"" + PASSWORD + "\"}";
+
+        long started = System.nanoTime();
+        Process process = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(WORK.resolve("run-" + run + ".log").toFile())
+                .start();
+        try {
+            long deadline = started + TimeUnit.SECONDS.toNanos(TIMEOUT_SECONDS);
+            while (System.nanoTime() < deadline) {
+                if (!process.isAlive()) {
+                    throw new IllegalStateException("Application exited with " + process.exitValue() + ", see " + WORK);
+                }
+                try {
+                    HttpResponse<String> response = client.post("/auth/login", login);
+                    if (response.statusCode() == 200) {
+                        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+                    }
+                } catch (ConnectException e) {
+                    // not listening yet
+                }
+                Thread.sleep(10);
+            }
+            throw new IllegalStateException("No successful login within " + TIMEOUT_SECONDS + "s, see " + WORK);
+        } finally {
+            process.destroy();
+            if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+            }
+        }
+    }
+
+    private static String userInsert() throws IOException {
+        String configured = PropertiesLoaderUtils.loadProperties(new ClassPathResource("application.properties"))
+                .getProperty("app.security.bcrypt.strength", "10");
+        String hash = new TargetCostBCryptPasswordEncoder(Integer.parseInt(configured)).encode(PASSWORD);
+        return "INSERT INTO users (name, email, password, role) VALUES ('Startup', '" + EMAIL + "', '" + hash + "', 'ROLE_ADMIN')";
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    // exec:java runs inside the Maven JVM, the project classpath is the one of the context class loader
+    private static String classPath() throws Exception {
+        if (!(Thread.currentThread().getContextClassLoader() instanceof URLClassLoader loader)) {
+            return System.getProperty("java.class.path");
+        }
+        List<String> entries = new ArrayList<>();
+        for (URL url : loader.getURLs()) {
+            if ("file".equals(url.getProtocol())) {
+                entries.add(new File(url.toURI()).getAbsolutePath());
+            }
+        }
+        return String.join(File.pathSeparator, entries);
+    }
+
+    private static void write(Map<String, Object> modes) throws IOException {
+        Map<String, Object> document = new LinkedHashMap<>();
+        document.put("timestamp", Instant.now().toString());
+        Map<String, Object> config = new LinkedHashMap<>();
+        config.put("runs", RUNS);
+        config.put("jar", JAR);
+        config.put("jvmArgs", JVM_ARGS);
+        config.put("javaVersion", System.getProperty("java.version"));
+        config.put("processors", Runtime.getRuntime().availableProcessors());
+        document.put("config", config);
+        document.put("modes", modes);
+
+        Path path = Path.of(REPORT);
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        BenchmarkClient.mapper().writerWithDefaultPrettyPrinter().writeValue(path.toFile(), document);
+        System.out.println("Report written to " + path.toAbsolutePath());
+    }
+}
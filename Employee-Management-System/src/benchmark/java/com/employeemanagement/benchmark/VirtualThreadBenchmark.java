@@ -0,0 +1,201 @@
+package com.employeemanagement.benchmark;
+
+import com.employeemanagement.Application;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Platform vs virtual threads under blocking database load.
+//
+// Boots the application twice (virtual threads off, then on) against in-memory H2 with an artificial
+// per-statement latency, drives keyset list pages from many concurrent clients and prints throughput and
+// tail latency. In virtual mode a JFR stream counts jdk.VirtualThreadPinned events and prints where they
+// came from. Tuning via system properties:
+//
+//   ./mvnw -Pbenchmark test-compile exec:java -Dbenchmark.main=com.employeemanagement.benchmark.VirtualThreadBenchmark \
+//       -Dbenchmark.concurrency=400 -Dbenchmark.duration-seconds=30 -Dbenchmark.db-latency-ms=10
+public class VirtualThreadBenchmark {
+
+    private static final int CONCURRENCY = Integer.getInteger("benchmark.concurrency", 400);
+    private static final long DURATION_SECONDS = Long.getLong("benchmark.duration-seconds", 20);
+    private static final long WARMUP_SECONDS = Long.getLong("benchmark.warmup-seconds", 5);
+    private static final long DB_LATENCY_MS = Long.getLong("benchmark.db-latency-ms", 10);
+    private static final int TOMCAT_THREADS = Integer.getInteger("benchmark.tomcat-threads", 200);
+    private static final int POOL_SIZE = Integer.getInteger("benchmark.pool-size", 100);
+    // off by default: with the limiter on this measures its shedding, not the thread model
+    private static final boolean CONCURRENCY_LIMIT = Boolean.getBoolean("benchmark.concurrency-limit");
+
+    // keyset pages are not served from the page cache, so every request reaches the database
+    private static final String PATH = "/api/employees?pagination=keyset&size=20&sort=id,asc";
+
+    public static void main(String[] args) throws Exception {
+        System.out.printf("concurrency=%d duration=%ds db-latency=%dms tomcat-threads=%d pool-size=%d%n",
+                CONCURRENCY, DURATION_SECONDS, DB_LATENCY_MS, TOMCAT_THREADS, POOL_SIZE);
+
+        List<Result> results = new ArrayList<>();
+        results.add(run(false));
+        results.add(run(true));
+
+        System.out.println();
+        System.out.printf("%-10s %12s %10s %10s %10s %10s %8s %8s%n",
+                "mode", "req/s", "p50 ms", "p99 ms", "p999 ms", "max ms", "errors", "pinned");
+        for (Result result : results) {
+            System.out.printf("%-10s %12.1f %10.2f %10.2f %10.2f %10.2f %8d %8s%n",
+                    result.mode, result.throughput, result.p50, result.p99, result.p999, result.max, result.errors,
+                    result.pinned < 0 ? "-" : String.valueOf(result.pinned));
+        }
+    }
+
+    private static Result run(boolean virtualThreads) throws Exception {
+        String mode = virtualThreads ? "virtual" : "platform";
+        System.out.println("Starting application with " + mode + " threads");
+
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(Application.class, DbLatencyInjection.class)
+                .run("--server.port=0",
+                        "--spring.threads.virtual.enabled=" + virtualThreads,
+                        "--server.tomcat.threads.max=" + TOMCAT_THREADS,
+                        "--spring.datasource.hikari.maximum-pool-size=" + POOL_SIZE,
+                        "--spring.datasource.url=jdbc:h2:mem:benchmark-" + mode + ";DB_CLOSE_DELAY=-1",
+                        "--spring.datasource.username=sa",
+                        "--spring.datasource.password=",
+                        "--spring.jpa.show-sql=false",
+                        "--logging.level.root=WARN",
+                        "--app.concurrency.enabled=" + CONCURRENCY_LIMIT,
+                        "--benchmark.db-latency-ms=" + DB_LATENCY_MS);
+
+        RecordingStream pinning = null;
+        AtomicLong pinnedEvents = new AtomicLong();
+        Map<String, AtomicLong> pinnedAt = new ConcurrentHashMap<>();
+        try {
+            int port = context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+            BenchmarkClient client = new BenchmarkClient("http://localhost:" + port);
+            client.login("benchmark@example.com", "benchmark1");
+
+            load(client, Duration.ofSeconds(WARMUP_SECONDS));
+
+            if (virtualThreads) {
+                pinning = new RecordingStream();
+                pinning.enable("jdk.VirtualThreadPinned").withStackTrace().withThreshold(Duration.ofMillis(1));
+                pinning.onEvent("jdk.VirtualThreadPinned", event -> {
+                    pinnedEvents.incrementAndGet();
+                    pinnedAt.computeIfAbsent(topFrame(event), frame -> new AtomicLong()).incrementAndGet();
+                });
+                pinning.startAsync();
+            }
+
+            Result result = load(client, Duration.ofSeconds(DURATION_SECONDS));
+            result.mode = mode;
+            result.pinned = virtualThreads ? pinnedEvents.get() : -1;
+
+            if (!pinnedAt.isEmpty()) {
+                System.out.println("Pinned carrier threads at:");
+                pinnedAt.entrySet().stream()
+                        .sorted((a, b) -> Long.compare(b.getValue().get(), a.getValue().get()))
+                        .limit(10)
+                        .forEach(entry -> System.out.printf("  %6d  %s%n", entry.getValue().get(), entry.getKey()));
+            }
+            return result;
+        } finally {
+            if (pinning != null) {
+                pinning.close();
+            }
+            context.close();
+        }
+    }
+
+    private static Result load(BenchmarkClient client, Duration duration) throws Exception {
+        long deadline = System.nanoTime() + duration.toNanos();
+        AtomicLong errors = new AtomicLong();
+        List<Future<long[]>> workers = new ArrayList<>(CONCURRENCY);
+
+        long started = System.nanoTime();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < CONCURRENCY; i++) {
+                workers.add(executor.submit(() -> {
+                    long[] latencies = new long[1024];
+                    int count = 0;
+                    while (System.nanoTime() < deadline) {
+                        long start = System.nanoTime();
+                        HttpResponse<String> response = client.get(PATH);
+                        long elapsed = System.nanoTime() - start;
+                        if (response.statusCode() != 200) {
+                            errors.incrementAndGet();
+                            continue;
+                        }
+                        if (count == latencies.length) {
+                            latencies = Arrays.copyOf(latencies, count * 2);
+                        }
+                        latencies[count++] = elapsed;
+                    }
+                    return Arrays.copyOf(latencies, count);
+                }));
+            }
+        }
+        double seconds = (System.nanoTime() - started) / 1e9;
+
+        long[] all = workers.stream().map(VirtualThreadBenchmark::join).flatMapToLong(Arrays::stream).sorted().toArray();
+        Result result = new Result();
+        result.errors = errors.get();
+        result.throughput = all.length / seconds;
+        result.p50 = percentile(all, 0.50);
+        result.p99 = percentile(all, 0.99);
+        result.p999 = percentile(all, 0.999);
+        result.max = all.length == 0 ? 0 : all[all.length - 1] / 1e6;
+        return result;
+    }
+
+    private static long[] join(Future<long[]> worker) {
+        try {
+            return worker.get();
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static double percentile(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.min(sorted.length - 1, Math.ceil(percentile * sorted.length) - 1);
+        return sorted[Math.max(index, 0)] / 1e6;
+    }
+
+    private static String topFrame(RecordedEvent event) {
+        if (event.getStackTrace() == null) {
+            return "<no stack trace>";
+        }
+        // first frame outside the JDK is the interesting one
+        for (RecordedFrame frame : event.getStackTrace().getFrames()) {
+            String type = frame.getMethod().getType().getName();
+            if (!type.startsWith("java.") && !type.startsWith("jdk.") && !type.startsWith("sun.")) {
+                return type + "." + frame.getMethod().getName() + ":" + frame.getLineNumber();
+            }
+        }
+        return "<jdk internal>";
+    }
+
+    private static class Result {
+        private String mode;
+        private double throughput;
+        private double p50;
+        private double p99;
+        private double p999;
+        private double max;
+        private long errors;
+        private long pinned;
+    }
+}
@@ -0,0 +1,87 @@
+package com.employeemanagement.benchmark.jmh;
+
+import com.employeemanagement.audit.AuditFsyncPolicy;
+import com.employeemanagement.audit.AuditLog;
+import com.employeemanagement.event.EmployeeChangedEvent;
+import com.employeemanagement.model.Employee;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.FileSystemUtils;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+// what an audited mutation costs the request thread: building the record and handing it to the ring buffer,
+// with the writer thread appending to segment files in the background
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AuditLogBenchmark {
+
+    @Param({"none", "batch"})
+    public String fsync;
+
+    private Path directory;
+
+    private AuditLog auditLog;
+
+    private EmployeeChangedEvent event;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        directory = Files.createTempDirectory("audit-benchmark");
+        auditLog = new AuditLog();
+        ReflectionTestUtils.setField(auditLog, "directory", directory);
+        ReflectionTestUtils.setField(auditLog, "segmentSize", DataSize.ofMegabytes(64));
+        ReflectionTestUtils.setField(auditLog, "ringSize", 8192);
+        ReflectionTestUtils.setField(auditLog, "batchSize", 512);
+        ReflectionTestUtils.setField(auditLog, "fsync", AuditFsyncPolicy.valueOf(fsync.toUpperCase()));
+        ReflectionTestUtils.setField(auditLog, "fsyncInterval", Duration.ofSeconds(1));
+        // a benchmark loop produces far more records than any disk takes, blocking would measure the writer
+        ReflectionTestUtils.setField(auditLog, "overflow", "drop");
+        ReflectionTestUtils.setField(auditLog, "meterRegistry", new SimpleMeterRegistry());
+        auditLog.start();
+
+        Employee before = BenchmarkData.employees(1, true).get(0);
+        Employee after = EmployeeChangedEvent.copyOf(before);
+        after.setName(before.getName() + " Jr");
+        event = EmployeeChangedEvent.updated(before, after);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        auditLog.stop();
+        FileSystemUtils.deleteRecursively(directory);
+    }
+
+    @Benchmark
+    public void onEmployeeChanged() {
+        auditLog.onEmployeeChanged(event);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void onEmployeeChangedContended() {
+        auditLog.onEmployeeChanged(event);
+    }
+}
@@ -0,0 +1,54 @@
+package com.employeemanagement.benchmark.jmh;
+
+import com.employeemanagement.config.TargetCostBCryptPasswordEncoder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.support.PropertiesLoaderUtils;
+
+import java.util.concurrent.TimeUnit;
+
+// password hashing and checking at the cost configured in app.security.bcrypt.strength,
+// compare costs with -jvmArgsAppend -Dbenchmark.bcrypt.strength=10
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BCryptBenchmark {
+
+    private static final String PASSWORD = "benchmark-password";
+
+    private TargetCostBCryptPasswordEncoder encoder;
+
+    private String encoded;
+
+    @Setup
+    public void setUp() throws Exception {
+        String configured = PropertiesLoaderUtils.loadProperties(new ClassPathResource("application.properties"))
+                .getProperty("app.security.bcrypt.strength", "10");
+        int strength = Integer.getInteger("benchmark.bcrypt.strength", Integer.parseInt(configured));
+
+        encoder = new TargetCostBCryptPasswordEncoder(strength);
+        encoded = encoder.encode(PASSWORD);
+    }
+
+    @Benchmark
+    public String encode() {
+        return encoder.encode(PASSWORD);
+    }
+
+    @Benchmark
+    public boolean matches() {
+        return encoder.matches(PASSWORD, encoded);
+    }
+}
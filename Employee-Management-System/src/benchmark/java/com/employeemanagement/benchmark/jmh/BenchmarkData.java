@@ -0,0 +1,41 @@
+package com.employeemanagement.benchmark.jmh;
+
+import com.employeemanagement.model.Employee;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+// deterministic employee rows shared by the benchmarks
+final class BenchmarkData {
+
+    static final String[] FIRST_NAMES = {"John", "Jane", "Alice", "Bob", "Charlie", "David", "Mike", "Ben", "Sofie", "Emma"};
+    static final String[] LAST_NAMES = {"Doe", "Smith", "Johnson", "Brown", "White", "Black", "May", "Miller", "Davis", "Wilson"};
+    static final String[] DEPARTMENTS = {"Sales", "Marketing", "Development", "HR", "Testing", "Finance", "Support"};
+
+    private BenchmarkData() {
+    }
+
+    // ids are left null when withIds is false so the rows can be persisted
+    static List<Employee> employees(int count, boolean withIds) {
+        Random random = new Random(42);
+        LocalDateTime now = LocalDateTime.of(2025, 1, 1, 12, 0);
+        List<Employee> employees = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String first = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)];
+            String last = LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+            employees.add(new Employee(
+                    withIds ? (long) i + 1 : null,
+                    first + " " + last,
+                    DEPARTMENTS[random.nextInt(DEPARTMENTS.length)],
+                    18 + random.nextInt(50),
+                    (first + "." + last + i + "@example.com").toLowerCase(),
+                    BigDecimal.valueOf(30_000_00L + random.nextInt(100_000_00), 2),
+                    now,
+                    now));
+        }
+        return employees;
+    }
+}
@@ -0,0 +1,57 @@
+package com.employeemanagement.benchmark.jmh;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.File;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+// runs the JMH benchmarks of this package and writes target/jmh-result.json, so results of two commits can be compared.
+// Arguments are regular JMH command line options, e.g. -Dexec.args="JwtService -f 2"
+public class JmhBenchmarks {
+
+    public static void main(String[] args) throws Exception {
+        exposeClassPath();
+
+        CommandLineOptions commandLine = new CommandLineOptions(args);
+        OptionsBuilder options = new OptionsBuilder();
+        if (commandLine.getIncludes().isEmpty()) {
+            options.include(JmhBenchmarks.class.getPackageName() + "\\..*");
+        }
+        Path result = Path.of("target", "jmh-result.json");
+        Files.createDirectories(result.getParent());
+        Options merged = options
+                .parent(commandLine)
+                .resultFormat(ResultFormatType.JSON)
+                .result(result.toString())
+                .build();
+
+        new Runner(merged).run();
+    }
+
+    // exec:java runs inside the Maven JVM, whose java.class.path does not contain the project classes.
+    // JMH starts its forks with java.class.path, so point it at the classpath exec:java built
+    private static void exposeClassPath() throws URISyntaxException {
+        if (!(Thread.currentThread().getContextClassLoader() instanceof URLClassLoader loader)) {
+            return;
+        }
+        List<String> entries = new ArrayList<>();
+        for (URL url : loader.getURLs()) {
+            if ("file".equals(url.getProtocol())) {
+                entries.add(new File(url.toURI()).getAbsolutePath());
+            }
+        }
+        if (!entries.isEmpty()) {
+            System.setProperty("java.class.path", String.join(File.pathSeparator, entries));
+        }
+    }
+}
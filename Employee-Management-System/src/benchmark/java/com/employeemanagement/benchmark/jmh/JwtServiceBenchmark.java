@@ -0,0 +1,69 @@
+package com.employeemanagement.benchmark.jmh;
+
+import com.employeemanagement.service.JwtService;
+import io.jsonwebtoken.Claims;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+// token creation and verification in JwtService, with and without the verified token cache
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtServiceBenchmark {
+
+    private static final int TOKENS = 1024;
+
+    private JwtService jwtService;
+
+    // a cache of size zero keeps nothing, so every call below pays for the signature check
+    private JwtService uncachedJwtService;
+
+    private String token;
+
+    private String[] uncachedTokens;
+
+    private int next;
+
+    @Setup
+    public void setUp() {
+        jwtService = new JwtService();
+        token = jwtService.generateToken("benchmark@example.com", "ADMIN");
+        jwtService.extractClaims(token);
+
+        uncachedJwtService = new JwtService(0);
+        // rotate over many tokens so an entry the cache has not evicted yet is never reused right away
+        uncachedTokens = new String[TOKENS];
+        for (int i = 0; i < TOKENS; i++) {
+            uncachedTokens[i] = uncachedJwtService.generateToken("user" + i + "@example.com", "USER");
+        }
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtService.generateToken("benchmark@example.com", "ADMIN");
+    }
+
+    @Benchmark
+    public Claims extractClaimsCached() {
+        return jwtService.extractClaims(token);
+    }
+
+    @Benchmark
+    public Claims extractClaimsUncached() {
+        next = (next + 1) & (TOKENS - 1);
+        return uncachedJwtService.extractClaims(uncachedTokens[next]);
+    }
+}
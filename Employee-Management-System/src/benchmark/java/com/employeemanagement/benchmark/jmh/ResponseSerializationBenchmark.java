@@ -0,0 +1,105 @@
+package com.employeemanagement.benchmark.jmh;
+
+import com.employeemanagement.dto.ResponseObject;
+import com.employeemanagement.model.Employee;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+// serialization of a list page response in each negotiated format (see ContentNegotiationConfig), plain and
+// gzipped the way server.compression does it. main prints the bytes on the wire for the same combinations:
+// ./mvnw -Pbenchmark test-compile exec:java -Dbenchmark.main=com.employeemanagement.benchmark.jmh.ResponseSerializationBenchmark
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ResponseSerializationBenchmark {
+
+    static final int[] PAGE_SIZES = {10, 100, 1000, 10000};
+
+    @Param({"json", "smile", "cbor"})
+    public String format;
+
+    @Param({"10", "100", "1000", "10000"})
+    public int pageSize;
+
+    private ObjectWriter writer;
+
+    private ResponseObject<List<Employee>> response;
+
+    @Setup
+    public void setUp() {
+        writer = mapper(format).writer();
+        response = response(pageSize);
+    }
+
+    @Benchmark
+    public byte[] serialize() throws Exception {
+        return writer.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public byte[] serializeGzip() throws Exception {
+        return gzip(writer.writeValueAsBytes(response));
+    }
+
+    // with the same ObjectMapper defaults Spring Boot uses
+    static ObjectMapper mapper(String format) {
+        return switch (format) {
+            case "json" -> Jackson2ObjectMapperBuilder.json().build();
+            case "smile" -> Jackson2ObjectMapperBuilder.json().factory(new SmileFactory()).build();
+            case "cbor" -> Jackson2ObjectMapperBuilder.json().factory(new CBORFactory()).build();
+            default -> throw new IllegalArgumentException(format);
+        };
+    }
+
+    static ResponseObject<List<Employee>> response(int pageSize) {
+        return new ResponseObject<>(true, 200, "Successful Request", BenchmarkData.employees(pageSize, true));
+    }
+
+    // Tomcat compresses with GZIPOutputStream at its default level
+    static byte[] gzip(byte[] body) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(body.length / 4 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(body);
+        }
+        return out.toByteArray();
+    }
+
+    public static void main(String[] args) throws Exception {
+        System.out.printf("%-8s %10s %14s %14s %10s%n", "format", "pageSize", "bytes", "gzip bytes", "vs json");
+        for (int pageSize : PAGE_SIZES) {
+            ResponseObject<List<Employee>> response = response(pageSize);
+            long json = 0;
+            for (String format : new String[]{"json", "smile", "cbor"}) {
+                byte[] body = mapper(format).writeValueAsBytes(response);
+                if (format.equals("json")) {
+                    json = body.length;
+                }
+                System.out.printf("%-8s %10d %14d %14d %9.0f%%%n",
+                        format, pageSize, body.length, gzip(body).length, 100.0 * body.length / json);
+            }
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.employeemanagement.benchmark.jmh;
+
+import com.employeemanagement.Application;
+import com.employeemanagement.model.Employee;
+import com.employeemanagement.repo.EmployeeRepo;
+import com.employeemanagement.service.EmployeeSearchIndex;
+import com.employeemanagement.service.EmployeeService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// EmployeeService.searchEmployees against an in-memory H2 database seeded with generated employees
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SearchBenchmark {
+
+    @Param({"10000"})
+    public int employees;
+
+    // short query (scan), common trigram query, selective query and one with no match
+    @Param({"jo", "smith", "development", "zzz"})
+    public String query;
+
+    @Param({"50"})
+    public int limit;
+
+    private ConfigurableApplicationContext context;
+
+    private EmployeeService employeeService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(Application.class)
+                .run("--server.port=0",
+                        "--spring.datasource.url=jdbc:h2:mem:search-benchmark;DB_CLOSE_DELAY=-1",
+                        "--spring.datasource.username=sa",
+                        "--spring.datasource.password=",
+                        "--spring.jpa.show-sql=false",
+                        "--logging.level.root=WARN");
+
+        EmployeeRepo repo = context.getBean(EmployeeRepo.class);
+        List<Employee> rows = BenchmarkData.employees(employees, false);
+        for (int from = 0; from < rows.size(); from += 1000) {
+            repo.saveAll(rows.subList(from, Math.min(from + 1000, rows.size())));
+        }
+        // the rows above bypass the service events, index them in one go
+        context.getBean(EmployeeSearchIndex.class).rebuild();
+
+        employeeService = context.getBean(EmployeeService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<Employee> search() {
+        return employeeService.searchEmployees(query, limit);
+    }
+}
@@ -0,0 +1,160 @@
+package com.employeemanagement.audit;
+
+import com.employeemanagement.model.Employee;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.zip.CRC32C;
+
+// binary layout of audit segments, big endian.
+//
+// segment: magic "EMAU" (int), version (short), reserved (short), first sequence (long), then records.
+// record:  payload length (int, 0 = end of written data), CRC32C of the payload (int), payload:
+//          sequence (long), timestamp epoch millis (long), type (byte), employee id (long), actor (string),
+//          presence flags (byte, 1 = before, 2 = after), before (employee), after (employee)
+// employee: id (long), name, department (string), age (int), email, salary (string, plain decimal),
+//           createdAt, updatedAt (long epoch micros as UTC, Long.MIN_VALUE = null)
+// string:  length (short, -1 = null), UTF-8 bytes
+final class AuditCodec {
+
+    static final int MAGIC = 0x454d4155;
+
+    static final short VERSION = 1;
+
+    static final int SEGMENT_HEADER_SIZE = 16;
+
+    static final int RECORD_HEADER_SIZE = 8;
+
+    private static final long NULL_TIME = Long.MIN_VALUE;
+
+    private static final AuditRecord.Type[] TYPES = AuditRecord.Type.values();
+
+    private AuditCodec() {
+    }
+
+    static void writeSegmentHeader(ByteBuffer buffer, long firstSequence) {
+        buffer.putInt(0, MAGIC);
+        buffer.putShort(4, VERSION);
+        buffer.putShort(6, (short) 0);
+        buffer.putLong(8, firstSequence);
+    }
+
+    static boolean hasSegmentHeader(ByteBuffer buffer) {
+        return buffer.capacity() >= SEGMENT_HEADER_SIZE && buffer.getInt(0) == MAGIC && buffer.getShort(4) == VERSION;
+    }
+
+    // payload only, the caller frames it with length and checksum
+    static void encode(AuditRecord record, ByteBuffer out) {
+        out.putLong(record.getSequence());
+        out.putLong(record.getTimestamp().toEpochMilli());
+        out.put((byte) record.getType().ordinal());
+        out.putLong(record.getEmployeeId());
+        putString(out, record.getActor());
+        out.put((byte) ((record.getBefore() != null ? 1 : 0) | (record.getAfter() != null ? 2 : 0)));
+        if (record.getBefore() != null) {
+            putEmployee(out, record.getBefore());
+        }
+        if (record.getAfter() != null) {
+            putEmployee(out, record.getAfter());
+        }
+    }
+
+    static AuditRecord decode(ByteBuffer in) {
+        AuditRecord record = new AuditRecord();
+        record.setSequence(in.getLong());
+        record.setTimestamp(Instant.ofEpochMilli(in.getLong()));
+        record.setType(TYPES[in.get()]);
+        record.setEmployeeId(in.getLong());
+        record.setActor(getString(in));
+        byte present = in.get();
+        if ((present & 1) != 0) {
+            record.setBefore(getEmployee(in));
+        }
+        if ((present & 2) != 0) {
+            record.setAfter(getEmployee(in));
+        }
+        return record;
+    }
+
+    static int checksum(ByteBuffer payload) {
+        CRC32C crc = new CRC32C();
+        crc.update(payload.duplicate());
+        return (int) crc.getValue();
+    }
+
+    // the record at position, or null at the end of the written data or at a record that is not complete yet
+    static ByteBuffer payloadAt(ByteBuffer segment, int position) {
+        if (position + RECORD_HEADER_SIZE > segment.limit()) {
+            return null;
+        }
+        int length = segment.getInt(position);
+        if (length <= 0 || position + RECORD_HEADER_SIZE + length > segment.limit()) {
+            return null;
+        }
+        ByteBuffer payload = segment.slice(position + RECORD_HEADER_SIZE, length);
+        return checksum(payload) == segment.getInt(position + 4) ? payload : null;
+    }
+
+    private static void putEmployee(ByteBuffer out, Employee employee) {
+        out.putLong(employee.getId() == null ? 0 : employee.getId());
+        putString(out, employee.getName());
+        putString(out, employee.getDepartment());
+        out.putInt(employee.getAge());
+        putString(out, employee.getEmail());
+        putString(out, employee.getSalary() == null ? null : employee.getSalary().toPlainString());
+        out.putLong(toMicros(employee.getCreatedAt()));
+        out.putLong(toMicros(employee.getUpdatedAt()));
+    }
+
+    private static Employee getEmployee(ByteBuffer in) {
+        Employee employee = new Employee();
+        employee.setId(in.getLong());
+        employee.setName(getString(in));
+        employee.setDepartment(getString(in));
+        employee.setAge(in.getInt());
+        employee.setEmail(getString(in));
+        String salary = getString(in);
+        employee.setSalary(salary == null ? null : new BigDecimal(salary));
+        employee.setCreatedAt(fromMicros(in.getLong()));
+        employee.setUpdatedAt(fromMicros(in.getLong()));
+        return employee;
+    }
+
+    private static void putString(ByteBuffer out, String value) {
+        if (value == null) {
+            out.putShort((short) -1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.putShort((short) bytes.length);
+        out.put(bytes);
+    }
+
+    private static String getString(ByteBuffer in) {
+        int length = in.getShort();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static long toMicros(LocalDateTime time) {
+        if (time == null) {
+            return NULL_TIME;
+        }
+        return time.toEpochSecond(ZoneOffset.UTC) * 1_000_000 + time.getNano() / 1_000;
+    }
+
+    private static LocalDateTime fromMicros(long micros) {
+        if (micros == NULL_TIME) {
+            return null;
+        }
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(micros, 1_000_000), (int) Math.floorMod(micros, 1_000_000) * 1_000, ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,7 @@
+package com.employeemanagement.audit;
+
+// when appended records are forced to disk. NONE leaves it to the OS page cache flushing,
+// BATCH forces after every batch the writer appends, INTERVAL at most once per app.audit.fsync-interval
+public enum AuditFsyncPolicy {
+    NONE, BATCH, INTERVAL
+}
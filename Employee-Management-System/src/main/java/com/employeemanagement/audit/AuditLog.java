@@ -0,0 +1,289 @@
+package com.employeemanagement.audit;
+
+import com.employeemanagement.event.EmployeeBulkChangedEvent;
+import com.employeemanagement.event.EmployeeChangedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+// audit trail of committed employee mutations. The request thread only builds the record and offers it to a
+// lock-free ring buffer; one writer thread drains it in batches into memory-mapped segment files
+// (see AuditCodec for the format) and forces them to disk according to app.audit.fsync
+@Component
+@ConditionalOnProperty(name = "app.audit.enabled", havingValue = "true", matchIfMissing = true)
+public class AuditLog {
+
+    private static final Logger log = LoggerFactory.getLogger(AuditLog.class);
+
+    // how long the idle writer sleeps before looking at the ring again
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    // held by the running writer, see start
+    private static final String LOCK_FILE = "audit.lock";
+
+    @Value("${app.audit.directory:./data/audit}")
+    private Path directory;
+
+    @Value("${app.audit.segment-size:64MB}")
+    private DataSize segmentSize;
+
+    // power of two
+    @Value("${app.audit.ring-size:8192}")
+    private int ringSize;
+
+    @Value("${app.audit.batch-size:512}")
+    private int batchSize;
+
+    @Value("${app.audit.fsync:interval}")
+    private AuditFsyncPolicy fsync;
+
+    @Value("${app.audit.fsync-interval:1s}")
+    private Duration fsyncInterval;
+
+    // with a full ring: drop counts the record in audit.records.dropped and moves on, block parks the request
+    // thread until there is space. Records of bulk writes always wait, on their own appender thread
+    @Value("${app.audit.overflow:drop}")
+    private String overflow;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private AuditRingBuffer<AuditRecord> ring;
+
+    private FileChannel lockChannel;
+
+    private AuditSegmentWriter writer;
+
+    private AuditLogReader reader;
+
+    private Thread writerThread;
+
+    private final ExecutorService bulkAppender = Executors.newSingleThreadExecutor(
+            Thread.ofVirtual().name("audit-bulk-appender").factory());
+
+    // re-runs the queries of waiting polls after a write, off the writer thread
+    private final ExecutorService pollReader = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("audit-poll-", 0).factory());
+
+    // completed and replaced by the writer each time it advances writtenSequence
+    private volatile CompletableFuture<Void> nextWrite = new CompletableFuture<>();
+
+    private volatile boolean running;
+
+    // last sequence appended, and forced when fsync is batch
+    private volatile long writtenSequence;
+
+    private Counter recordsWritten;
+
+    private Counter recordsDropped;
+
+    @PostConstruct
+    public void start() throws IOException {
+        lockDirectory();
+        ring = new AuditRingBuffer<>(ringSize);
+        writer = new AuditSegmentWriter(directory, Math.toIntExact(segmentSize.toBytes()));
+        reader = new AuditLogReader(directory);
+        writtenSequence = writer.lastSequence();
+
+        recordsWritten = meterRegistry.counter("audit.records.written");
+        recordsDropped = meterRegistry.counter("audit.records.dropped");
+        Gauge.builder("audit.ring.backlog", ring, AuditRingBuffer::size).register(meterRegistry);
+
+        running = true;
+        writerThread = new Thread(this::writeLoop, "audit-writer");
+        writerThread.setDaemon(true);
+        writerThread.start();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEmployeeChanged(EmployeeChangedEvent event) {
+        AuditRecord record = new AuditRecord(0, Instant.now(), currentActor(), AuditRecord.Type.valueOf(event.getType().name()),
+                event.getEmployeeId(), event.getBefore(), event.getAfter());
+        append(record);
+    }
+
+    // a bulk write can be larger than the whole ring. The request thread only builds the records, one thread
+    // appends them, waiting for ring space whatever app.audit.overflow says since it holds no request. Bulk
+    // batches keep their order among each other, single changes committed meanwhile can get earlier sequence numbers
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEmployeesChanged(EmployeeBulkChangedEvent event) {
+        Instant timestamp = Instant.now();
+        String actor = currentActor();
+        AuditRecord.Type type = AuditRecord.Type.valueOf(event.getType().name());
+        List<AuditRecord> records = new ArrayList<>(event.getChanges().size());
+        for (EmployeeChangedEvent change : event.getChanges()) {
+            records.add(new AuditRecord(0, timestamp, actor, type, change.getEmployeeId(), change.getBefore(), change.getAfter()));
+        }
+        try {
+            bulkAppender.execute(() -> records.forEach(record -> append(record, true)));
+        } catch (RejectedExecutionException e) {
+            // shutting down
+            recordsDropped.increment(records.size());
+        }
+    }
+
+    public void append(AuditRecord record) {
+        append(record, "block".equals(overflow));
+    }
+
+    private void append(AuditRecord record, boolean wait) {
+        while (!ring.offer(record)) {
+            if (!wait || !running) {
+                recordsDropped.increment();
+                return;
+            }
+            // the writer is behind by a whole ring, only happens when the disk cannot keep up
+            LockSupport.parkNanos(IDLE_PARK_NANOS);
+        }
+    }
+
+    public List<AuditRecord> query(AuditQuery query) throws IOException {
+        return reader.read(query);
+    }
+
+    // like query, but completes once there is a record after query.afterSequence, or empty after wait.
+    // No thread is held while waiting, each write re-runs the query of the polls still open
+    public CompletableFuture<List<AuditRecord>> poll(AuditQuery query, Duration wait) {
+        CompletableFuture<List<AuditRecord>> result = new CompletableFuture<>();
+        result.completeOnTimeout(List.of(), wait.toNanos(), TimeUnit.NANOSECONDS);
+        readOrAwait(query, result);
+        return result;
+    }
+
+    public AuditLogReader getReader() {
+        return reader;
+    }
+
+    public long getWrittenSequence() {
+        return writtenSequence;
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        // hand over what bulk writes left first, the writer drains the ring before it exits
+        bulkAppender.shutdown();
+        bulkAppender.awaitTermination(10, TimeUnit.SECONDS);
+        running = false;
+        writerThread.join(TimeUnit.SECONDS.toMillis(10));
+        // open polls run into their timeout
+        pollReader.shutdown();
+        try {
+            lockChannel.close();
+        } catch (IOException e) {
+            log.warn("Could not release the audit directory lock", e);
+        }
+    }
+
+    // one writer per directory: a second one would hand out the same sequence numbers and write into the same
+    // segments. The OS drops the lock with the process, so a crash does not leave the directory locked
+    private void lockDirectory() throws IOException {
+        Files.createDirectories(directory);
+        lockChannel = FileChannel.open(directory.resolve(LOCK_FILE), StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        FileLock lock;
+        try {
+            lock = lockChannel.tryLock();
+        } catch (OverlappingFileLockException e) {
+            // another application context in this JVM
+            lock = null;
+        }
+        if (lock == null) {
+            lockChannel.close();
+            throw new IllegalStateException("Audit directory " + directory.toAbsolutePath() + " is in use by another "
+                    + "application, give each instance its own app.audit.directory");
+        }
+    }
+
+    private void writeLoop() {
+        List<AuditRecord> batch = new ArrayList<>(batchSize);
+        long lastForce = System.nanoTime();
+        try {
+            while (true) {
+                batch.clear();
+                if (ring.drainTo(batch, batchSize) == 0) {
+                    if (!running) {
+                        break;
+                    }
+                    LockSupport.parkNanos(IDLE_PARK_NANOS);
+                } else {
+                    for (AuditRecord record : batch) {
+                        writer.append(record);
+                    }
+                    recordsWritten.increment(batch.size());
+                }
+
+                if (fsync == AuditFsyncPolicy.BATCH && !batch.isEmpty()
+                        || fsync == AuditFsyncPolicy.INTERVAL && System.nanoTime() - lastForce >= fsyncInterval.toNanos()) {
+                    writer.force();
+                    lastForce = System.nanoTime();
+                }
+
+                if (!batch.isEmpty()) {
+                    writtenSequence = writer.lastSequence();
+                    CompletableFuture<Void> signalled = nextWrite;
+                    nextWrite = new CompletableFuture<>();
+                    signalled.complete(null);
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            // records keep piling up in the ring and block or get dropped, the log says why
+            log.error("Audit writer stopped, audit records are no longer persisted", e);
+            running = false;
+        } finally {
+            writer.close();
+        }
+    }
+
+    // nextWrite is taken before reading, so a write landing between the read and the wait is not missed
+    private void readOrAwait(AuditQuery query, CompletableFuture<List<AuditRecord>> result) {
+        if (result.isDone()) {
+            return;
+        }
+        CompletableFuture<Void> write = nextWrite;
+        try {
+            List<AuditRecord> records = reader.read(query);
+            if (!records.isEmpty()) {
+                result.complete(records);
+                return;
+            }
+        } catch (IOException | RuntimeException e) {
+            result.completeExceptionally(e);
+            return;
+        }
+        write.thenRunAsync(() -> readOrAwait(query, result), pollReader);
+    }
+
+    private static String currentActor() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication == null ? null : authentication.getName();
+    }
+}
@@ -0,0 +1,180 @@
+package com.employeemanagement.audit;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+// reads audit segments, either as a one-off replay with filters or as a tailer that keeps picking up
+// records as the writer appends them. Works on the files alone, so it can also run in another process
+public class AuditLogReader {
+
+    private static final String PREFIX = "audit-";
+
+    private static final String SUFFIX = ".seg";
+
+    private final Path directory;
+
+    public AuditLogReader(Path directory) {
+        this.directory = directory;
+    }
+
+    // records matching the query, in sequence order, at most query.limit of them
+    public List<AuditRecord> read(AuditQuery query) throws IOException {
+        List<AuditRecord> result = new ArrayList<>();
+        Tailer tailer = tail(query.getAfterSequence());
+        List<AuditRecord> batch;
+        while (result.size() < query.getLimit() && !(batch = tailer.poll(1024)).isEmpty()) {
+            for (AuditRecord record : batch) {
+                if (query.matches(record)) {
+                    result.add(record);
+                    if (result.size() == query.getLimit()) {
+                        break;
+                    }
+                }
+            }
+        }
+        return result;
+    }
+
+    // follows the log from the record after afterSequence
+    public Tailer tail(long afterSequence) {
+        return new Tailer(afterSequence);
+    }
+
+    public class Tailer {
+
+        private long afterSequence;
+
+        private Path segment;
+
+        private ByteBuffer buffer;
+
+        private int position;
+
+        private Tailer(long afterSequence) {
+            this.afterSequence = afterSequence;
+        }
+
+        // next records appended after the last one returned, empty when there are none yet
+        public List<AuditRecord> poll(int max) throws IOException {
+            List<AuditRecord> records = new ArrayList<>();
+            if (buffer == null && !open(segmentFor(afterSequence + 1))) {
+                return records;
+            }
+            while (records.size() < max) {
+                ByteBuffer payload = AuditCodec.payloadAt(buffer, position);
+                if (payload == null) {
+                    // end of what is written here; move on only once the writer has started a later segment
+                    Path next = nextSegment();
+                    if (next == null || !open(next)) {
+                        break;
+                    }
+                    continue;
+                }
+                position += AuditCodec.RECORD_HEADER_SIZE + payload.remaining();
+                AuditRecord record = AuditCodec.decode(payload);
+                if (record.getSequence() > afterSequence) {
+                    records.add(record);
+                    afterSequence = record.getSequence();
+                }
+            }
+            return records;
+        }
+
+        public long getAfterSequence() {
+            return afterSequence;
+        }
+
+        private boolean open(Path file) throws IOException {
+            if (file == null) {
+                return false;
+            }
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+                if (!AuditCodec.hasSegmentHeader(mapped)) {
+                    return false;
+                }
+                segment = file;
+                buffer = mapped;
+                position = AuditCodec.SEGMENT_HEADER_SIZE;
+                return true;
+            }
+        }
+
+        private Path nextSegment() throws IOException {
+            for (Path candidate : segments(directory)) {
+                if (candidate.getFileName().toString().compareTo(segment.getFileName().toString()) > 0) {
+                    return candidate;
+                }
+            }
+            return null;
+        }
+    }
+
+    // the segment that holds sequence, i.e. the last one starting at or before it
+    private Path segmentFor(long sequence) throws IOException {
+        Path found = null;
+        for (Path segment : segments(directory)) {
+            if (found != null && firstSequence(segment) > sequence) {
+                break;
+            }
+            found = segment;
+        }
+        return found;
+    }
+
+    static List<Path> segments(Path directory) throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            // zero padded names sort by first sequence
+            return files.filter(file -> {
+                String name = file.getFileName().toString();
+                return name.startsWith(PREFIX) && name.endsWith(SUFFIX);
+            }).sorted().toList();
+        }
+    }
+
+    static String segmentName(long firstSequence) {
+        return String.format("%s%020d%s", PREFIX, firstSequence, SUFFIX);
+    }
+
+    static long firstSequence(Path segment) {
+        String name = segment.getFileName().toString();
+        return Long.parseLong(name.substring(PREFIX.length(), name.length() - SUFFIX.length()));
+    }
+
+    // sequence of the last complete record in the directory, 0 when there is none
+    static long lastSequence(Path directory) throws IOException {
+        List<Path> segments = segments(directory);
+        for (int i = segments.size() - 1; i >= 0; i--) {
+            long last = new AuditLogReader(directory).lastSequenceIn(segments.get(i));
+            if (last > 0) {
+                return last;
+            }
+        }
+        return 0;
+    }
+
+    private long lastSequenceIn(Path segment) throws IOException {
+        Tailer tailer = new Tailer(0);
+        if (!tailer.open(segment)) {
+            return 0;
+        }
+        long last = 0;
+        ByteBuffer payload;
+        while ((payload = AuditCodec.payloadAt(tailer.buffer, tailer.position)) != null) {
+            tailer.position += AuditCodec.RECORD_HEADER_SIZE + payload.remaining();
+            last = payload.getLong(0);
+        }
+        return last;
+    }
+}
@@ -0,0 +1,27 @@
+package com.employeemanagement.audit;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+// filters for replaying the audit log, null means any. Records come back in sequence order after afterSequence
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AuditQuery {
+    private long afterSequence;
+    private Long employeeId;
+    private String actor;
+    private Instant from;
+    private Instant to;
+    private int limit;
+
+    boolean matches(AuditRecord record) {
+        return (employeeId == null || record.getEmployeeId() == employeeId)
+                && (actor == null || actor.equals(record.getActor()))
+                && (from == null || !record.getTimestamp().isBefore(from))
+                && (to == null || record.getTimestamp().isBefore(to));
+    }
+}
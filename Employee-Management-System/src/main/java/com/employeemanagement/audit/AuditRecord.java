@@ -0,0 +1,32 @@
+package com.employeemanagement.audit;
+
+import com.employeemanagement.model.Employee;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+// one audited mutation: who did what to which employee and when, with the row before and after.
+// sequence is assigned by the writer thread, it is 0 until the record has been appended
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AuditRecord {
+
+    public enum Type {
+        CREATED, UPDATED, DELETED
+    }
+
+    private long sequence;
+    private Instant timestamp;
+    private String actor;
+    private Type type;
+    private long employeeId;
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Employee before;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Employee after;
+}
@@ -0,0 +1,85 @@
+package com.employeemanagement.audit;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// bounded lock-free multi-producer, single-consumer queue (Vyukov). Each slot carries a sequence number:
+// slot == position means free for the producer claiming that position, slot == position + 1 means filled.
+// offer never blocks and never allocates, drainTo must only be called from the one consumer thread
+final class AuditRingBuffer<T> {
+
+    private final Object[] items;
+
+    private final AtomicLongArray slots;
+
+    private final int mask;
+
+    private final AtomicLong tail = new AtomicLong();
+
+    // written by the consumer only, atomic so size() can be read from other threads
+    private final AtomicLong head = new AtomicLong();
+
+    AuditRingBuffer(int capacity) {
+        if (capacity < 2 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Ring buffer capacity must be a power of two: " + capacity);
+        }
+        this.items = new Object[capacity];
+        this.slots = new AtomicLongArray(capacity);
+        this.mask = capacity - 1;
+        for (int i = 0; i < capacity; i++) {
+            slots.set(i, i);
+        }
+    }
+
+    // false when the buffer is full
+    boolean offer(T item) {
+        long position = tail.get();
+        while (true) {
+            int index = (int) (position & mask);
+            long difference = slots.get(index) - position;
+            if (difference == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    items[index] = item;
+                    // publishes the item to the consumer
+                    slots.set(index, position + 1);
+                    return true;
+                }
+                position = tail.get();
+            } else if (difference < 0) {
+                return false;
+            } else {
+                // another producer claimed this position first
+                position = tail.get();
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    int drainTo(List<T> batch, int max) {
+        long position = head.get();
+        int drained = 0;
+        while (drained < max) {
+            int index = (int) (position & mask);
+            if (slots.get(index) != position + 1) {
+                break;
+            }
+            batch.add((T) items[index]);
+            items[index] = null;
+            // free the slot for the producer that wraps around to it
+            slots.set(index, position + mask + 1);
+            position++;
+            drained++;
+        }
+        head.lazySet(position);
+        return drained;
+    }
+
+    int size() {
+        return (int) Math.max(0, tail.get() - head.get());
+    }
+
+    int capacity() {
+        return items.length;
+    }
+}
@@ -0,0 +1,120 @@
+package com.employeemanagement.audit;
+
+import java.io.IOException;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+// appends encoded records to memory-mapped segment files of a fixed size, rolling to a new file when the
+// current one is full. Not thread safe, owned by the audit writer thread.
+//
+// A record's length is written after its checksum and payload, so a reader never takes a half written
+// record for a complete one. Every start opens a new segment, the previous one is only scanned for the
+// last sequence. An existing segment is never truncated
+final class AuditSegmentWriter implements AutoCloseable {
+
+    private final Path directory;
+
+    private final int segmentSize;
+
+    // scratch space for one payload
+    private ByteBuffer scratch = ByteBuffer.allocate(4096);
+
+    private MappedByteBuffer segment;
+
+    private int position;
+
+    // first byte not yet forced to disk
+    private int unforced;
+
+    private long nextSequence;
+
+    AuditSegmentWriter(Path directory, int segmentSize) throws IOException {
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        Files.createDirectories(directory);
+        this.nextSequence = AuditLogReader.lastSequence(directory) + 1;
+    }
+
+    // assigns the record its sequence and appends it
+    void append(AuditRecord record) throws IOException {
+        record.setSequence(nextSequence);
+        ByteBuffer payload = encode(record);
+        int size = AuditCodec.RECORD_HEADER_SIZE + payload.remaining();
+        if (size > segmentSize - AuditCodec.SEGMENT_HEADER_SIZE) {
+            throw new IOException("Audit record of " + size + " bytes does not fit a segment of " + segmentSize);
+        }
+        if (segment == null || position + size > segmentSize) {
+            roll();
+        }
+
+        segment.putInt(position + 4, AuditCodec.checksum(payload));
+        segment.put(position + AuditCodec.RECORD_HEADER_SIZE, payload, 0, payload.remaining());
+        segment.putInt(position, payload.remaining());
+        position += size;
+        nextSequence++;
+    }
+
+    void force() {
+        if (segment != null && position > unforced) {
+            segment.force(unforced, position - unforced);
+            unforced = position;
+        }
+    }
+
+    long lastSequence() {
+        return nextSequence - 1;
+    }
+
+    @Override
+    public void close() {
+        force();
+        segment = null;
+    }
+
+    private ByteBuffer encode(AuditRecord record) {
+        while (true) {
+            scratch.clear();
+            try {
+                AuditCodec.encode(record, scratch);
+                return scratch.flip();
+            } catch (BufferOverflowException e) {
+                scratch = ByteBuffer.allocate(scratch.capacity() * 2);
+            }
+        }
+    }
+
+    private void roll() throws IOException {
+        force();
+        Path file = directory.resolve(AuditLogReader.segmentName(nextSequence));
+        // a file of this name is left by a run that stopped before its first record was complete. It is only reused
+        // when nothing was written past its header, anything else may be a record this writer cannot read
+        if (Files.exists(file) && !blankPastHeader(file)) {
+            throw new IOException("Audit segment " + file + " already exists and holds data, move it out of " + directory);
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            // the mapping stays valid after the channel is closed, unwritten space reads as zeros
+            segment = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+        }
+        AuditCodec.writeSegmentHeader(segment, nextSequence);
+        position = AuditCodec.SEGMENT_HEADER_SIZE;
+        unforced = 0;
+    }
+
+    private static boolean blankPastHeader(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            for (int i = AuditCodec.SEGMENT_HEADER_SIZE; i < mapped.limit(); i++) {
+                if (mapped.get(i) != 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
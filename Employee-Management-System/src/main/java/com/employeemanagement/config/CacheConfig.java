@@ -0,0 +1,66 @@
+package com.employeemanagement.config;
+
+import com.employeemanagement.dto.CachedResponse;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String PRINCIPALS = "principals";
+
+    public static final String EMPLOYEE_RESPONSES = "employeeResponses";
+
+    public static final String EMPLOYEE_PAGES = "employeePages";
+
+    @Value("${app.cache.principals.maximum-size:10000}")
+    private long principalsMaximumSize;
+
+    @Value("${app.cache.principals.expire-after-write:10m}")
+    private Duration principalsExpireAfterWrite;
+
+    @Value("${app.cache.employee-responses.maximum-bytes:33554432}")
+    private long employeeResponsesMaximumBytes;
+
+    @Value("${app.cache.employee-responses.expire-after-write:10m}")
+    private Duration employeeResponsesExpireAfterWrite;
+
+    @Value("${app.cache.employee-pages.maximum-bytes:33554432}")
+    private long employeePagesMaximumBytes;
+
+    @Value("${app.cache.employee-pages.expire-after-write:10m}")
+    private Duration employeePagesExpireAfterWrite;
+
+    // Caffeine caches are bounded with W-TinyLFU eviction; recordStats feeds the actuator cache.* metrics
+    @Bean
+    public CacheManager cacheManager() {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        cacheManager.registerCustomCache(PRINCIPALS, Caffeine.newBuilder()
+                .maximumSize(principalsMaximumSize)
+                .expireAfterWrite(principalsExpireAfterWrite)
+                .recordStats()
+                .build());
+        // bounded by serialized size rather than entry count
+        cacheManager.registerCustomCache(EMPLOYEE_RESPONSES, Caffeine.newBuilder()
+                .maximumWeight(employeeResponsesMaximumBytes)
+                .weigher((Object id, Object response) -> ((CachedResponse) response).getBody().length)
+                .expireAfterWrite(employeeResponsesExpireAfterWrite)
+                .recordStats()
+                .build());
+        cacheManager.registerCustomCache(EMPLOYEE_PAGES, Caffeine.newBuilder()
+                .maximumWeight(employeePagesMaximumBytes)
+                .weigher((Object key, Object response) -> ((CachedResponse) response).getBody().length)
+                .expireAfterWrite(employeePagesExpireAfterWrite)
+                .recordStats()
+                .build());
+        return cacheManager;
+    }
+}
@@ -0,0 +1,158 @@
+package com.employeemanagement.config;
+
+import com.employeemanagement.dto.ResponseObject;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Map;
+
+// sheds load before any work is done for a request: each route group admits at most its current limit of
+// requests at once, the limit adapts to latency (see GradientLimiter). Runs ahead of JwtFilter so a rejected
+// request does not even cost a token verification
+@Component
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    @Autowired
+    private ConcurrencyLimitProperties properties;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private GradientLimiter authLimiter;
+
+    private GradientLimiter readLimiter;
+
+    private GradientLimiter writeLimiter;
+
+    // api.concurrency.rejected{group}
+    private Map<GradientLimiter, Counter> rejected;
+
+    @Autowired
+    public void bindMetrics(MeterRegistry meterRegistry) {
+        authLimiter = new GradientLimiter("auth", properties.getAuth(), properties);
+        readLimiter = new GradientLimiter("read", properties.getRead(), properties);
+        writeLimiter = new GradientLimiter("write", properties.getWrite(), properties);
+        rejected = Map.of(
+                authLimiter, rejectedCounter(meterRegistry, authLimiter),
+                readLimiter, rejectedCounter(meterRegistry, readLimiter),
+                writeLimiter, rejectedCounter(meterRegistry, writeLimiter));
+        for (GradientLimiter limiter : rejected.keySet()) {
+            Gauge.builder("api.concurrency.limit", limiter, GradientLimiter::getLimit).tag("group", limiter.getName())
+                    .description("Current adaptive concurrency limit").register(meterRegistry);
+            Gauge.builder("api.concurrency.in_flight", limiter, GradientLimiter::getInFlight).tag("group", limiter.getName())
+                    .description("Requests currently admitted").register(meterRegistry);
+        }
+    }
+
+    private Counter rejectedCounter(MeterRegistry meterRegistry, GradientLimiter limiter) {
+        return Counter.builder("api.concurrency.rejected").tag("group", limiter.getName())
+                .description("Requests shed by the concurrency limiter").register(meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !properties.isEnabled() || limiterFor(request) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        GradientLimiter limiter = limiterFor(request);
+        if (!limiter.tryAcquire()) {
+            rejected.get(limiter).increment();
+            reject(response);
+            return;
+        }
+
+        long start = System.nanoTime();
+        boolean sample = false;
+        boolean async = false;
+        try {
+            filterChain.doFilter(request, response);
+            // an async request (login) is still running when the chain returns, it keeps its permit until it completes
+            if (request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(new ReleaseOnComplete(limiter, start));
+                async = true;
+            }
+            // 5xx are often fast failures, their latency would pull the baseline down
+            sample = response.getStatus() < 500;
+        } finally {
+            if (!async) {
+                limiter.release(System.nanoTime() - start, sample);
+            }
+        }
+    }
+
+    // onComplete always follows a timeout or error, so the permit is released exactly once there
+    private static class ReleaseOnComplete implements AsyncListener {
+
+        private final GradientLimiter limiter;
+
+        private final long start;
+
+        private volatile boolean failed;
+
+        private ReleaseOnComplete(GradientLimiter limiter, long start) {
+            this.limiter = limiter;
+            this.start = start;
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            HttpServletResponse response = (HttpServletResponse) event.getSuppliedResponse();
+            limiter.release(System.nanoTime() - start, !failed && response.getStatus() < 500);
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            failed = true;
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            failed = true;
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+        }
+    }
+
+    private GradientLimiter limiterFor(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        if (path.startsWith("/auth/")) {
+            return authLimiter;
+        }
+        // the audit log is for admins and its long poll would hold a permit while waiting, same for the change stream
+        if (!path.startsWith("/api/") || path.startsWith("/api/audit") || path.startsWith("/api/employees/changes/stream")) {
+            return null;
+        }
+        String method = request.getMethod();
+        if (HttpMethod.GET.matches(method) || HttpMethod.HEAD.matches(method) || path.equals("/api/employees/lookup")) {
+            return readLimiter;
+        }
+        return writeLimiter;
+    }
+
+    private void reject(HttpServletResponse response) throws IOException {
+        int status = properties.getRejectionStatus();
+        response.setStatus(status);
+        response.setHeader("Retry-After", "1");
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getWriter(),
+                new ResponseObject<>(false, status, "Server is busy, please retry shortly."));
+    }
+}
@@ -0,0 +1,55 @@
+package com.employeemanagement.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+// app.concurrency.* - adaptive in-flight request limits per route group, see ConcurrencyLimitFilter
+@Data
+@ConfigurationProperties(prefix = "app.concurrency")
+public class ConcurrencyLimitProperties {
+
+    private boolean enabled = true;
+
+    // 503 (server overloaded) or 429
+    private int rejectionStatus = 503;
+
+    // latency may grow this much over the no-load baseline before the limit is cut
+    private double tolerance = 1.5;
+
+    // weight of a new limit estimate against the current limit
+    private double smoothing = 0.2;
+
+    // requests per short-term latency sample
+    private int sampleWindow = 20;
+
+    // samples the long-term (baseline) latency average spans
+    private int baselineWindow = 600;
+
+    // /auth/**: login and register, CPU bound BCrypt behind its own pool
+    private Group auth = new Group(10, 2, 100);
+
+    // GET /api/**
+    private Group read = new Group(100, 10, 1000);
+
+    // POST, PUT, PATCH, DELETE /api/**
+    private Group write = new Group(40, 5, 400);
+
+    @Data
+    public static class Group {
+
+        private int initialLimit;
+
+        private int minLimit;
+
+        private int maxLimit;
+
+        public Group() {
+        }
+
+        public Group(int initialLimit, int minLimit, int maxLimit) {
+            this.initialLimit = initialLimit;
+            this.minLimit = minLimit;
+            this.maxLimit = maxLimit;
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.employeemanagement.config;
+
+import com.employeemanagement.config.ReplicaRoutingDataSource.ReplicaNode;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+// primary/replica routing, only active once app.datasource.replicas[0].url is set. The primary is still
+// configured through spring.datasource.*, see application-replicas.properties for a local setup
+@Configuration
+@EnableConfigurationProperties(ReplicaProperties.class)
+@ConditionalOnProperty(name = "app.datasource.replicas[0].url")
+public class DataSourceRoutingConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(HikariDataSource primaryDataSource, ReplicaProperties properties,
+                                                             DataSourceProperties primaryProperties, MeterRegistry meterRegistry) {
+        List<ReplicaNode> replicas = new ArrayList<>();
+        for (int i = 0; i < properties.getReplicas().size(); i++) {
+            ReplicaProperties.Replica replica = properties.getReplicas().get(i);
+            String name = replica.getName() == null ? "replica-" + (i + 1) : replica.getName();
+
+            HikariDataSource dataSource = new HikariDataSource();
+            dataSource.setPoolName(name);
+            dataSource.setJdbcUrl(replica.getUrl());
+            dataSource.setDriverClassName(primaryProperties.determineDriverClassName());
+            // replicas usually share the primary's credentials
+            dataSource.setUsername(replica.getUsername() == null ? primaryProperties.determineUsername() : replica.getUsername());
+            dataSource.setPassword(replica.getPassword() == null ? primaryProperties.determinePassword() : replica.getPassword());
+            dataSource.setMaximumPoolSize(replica.getMaximumPoolSize());
+            dataSource.setReadOnly(true);
+            // hikaricp.connections{pool=<name>} like the primary pool
+            dataSource.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+            replicas.add(new ReplicaNode(name, dataSource));
+        }
+
+        return new ReplicaRoutingDataSource(primaryDataSource, replicas,
+                "least-connections".equals(properties.getStrategy()),
+                new ReadYourWritesTracker(properties.getReadYourWritesWindow()));
+    }
+
+    // the routing decision needs the transaction's read-only flag, which is only set after
+    // JpaTransactionManager has asked for a connection: hand out a proxy and pick the target on first use
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource replicaRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(replicaRoutingDataSource);
+    }
+
+    @Bean
+    public ReplicaHealthCheck replicaHealthCheck(HikariDataSource primaryDataSource, ReplicaRoutingDataSource replicaRoutingDataSource,
+                                                 ReplicaProperties properties) {
+        return new ReplicaHealthCheck(primaryDataSource, replicaRoutingDataSource.getReplicas(),
+                properties.getMaxLag(), properties.getHealthCheckInterval());
+    }
+
+    // Boot's default keeps the session's connection until it closes, which with open-in-view is the end of the
+    // request: a read-only transaction followed by a write would then write through the replica connection
+    @Bean
+    public HibernatePropertiesCustomizer releaseConnectionAfterTransaction() {
+        return properties -> properties.put("hibernate.connection.handling_mode", "DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION");
+    }
+
+    // db.replica.lag (ms, -1 while unreachable) and db.replica.healthy per replica
+    @Bean
+    public MeterBinder replicaMetrics(ReplicaRoutingDataSource replicaRoutingDataSource) {
+        return registry -> {
+            for (ReplicaNode replica : replicaRoutingDataSource.getReplicas()) {
+                Gauge.builder("db.replica.lag", replica, ReplicaNode::getLagMillis)
+                        .tag("replica", replica.getName())
+                        .baseUnit("milliseconds")
+                        .register(registry);
+                Gauge.builder("db.replica.healthy", replica, node -> node.isHealthy() ? 1 : 0)
+                        .tag("replica", replica.getName())
+                        .register(registry);
+            }
+        };
+    }
+}
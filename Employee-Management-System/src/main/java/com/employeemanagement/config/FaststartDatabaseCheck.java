@@ -0,0 +1,34 @@
+package com.employeemanagement.config;
+
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+// the faststart profile neither creates the schema nor seeds users, so against the default in-memory H2 the
+// application would come up without tables and answer every request with an error. Refuse to start instead.
+// Kept eager by LazyInitializationConfig, otherwise it would never run
+@Component
+@Profile("faststart")
+public class FaststartDatabaseCheck implements InitializingBean {
+
+    @Value("${spring.datasource.url:}")
+    private String url;
+
+    // only the image's training run, which never connects, turns this off
+    @Value("${app.faststart.require-external-database:true}")
+    private boolean required;
+
+    @Override
+    public void afterPropertiesSet() {
+        if (required && isInMemory(url)) {
+            throw new IllegalStateException("The faststart profile does not create the schema or any users, but "
+                    + "spring.datasource.url is the in-memory database " + url + ". Point SPRING_DATASOURCE_URL at "
+                    + "the migrated database, or start without the faststart profile.");
+        }
+    }
+
+    private static boolean isInMemory(String url) {
+        return url.startsWith("jdbc:h2:mem:") || url.startsWith("jdbc:hsqldb:mem:") || url.startsWith("jdbc:derby:memory:");
+    }
+}
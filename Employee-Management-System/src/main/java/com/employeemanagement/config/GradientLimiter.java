@@ -0,0 +1,117 @@
+package com.employeemanagement.config;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+// adaptive concurrency limit driven by latency, along the lines of Netflix's Gradient2.
+//
+// A long-term average of request latency is the baseline; the average over the last sampleWindow requests
+// is the current latency. gradient = clamp(tolerance * baseline / current, 0.5, 1) shrinks the limit as soon
+// as requests queue up and latency rises, sqrt(limit) of headroom lets it probe upwards while latency holds.
+// The limit only grows while it is actually used, an idle group keeps its limit
+public class GradientLimiter {
+
+    private final String name;
+
+    private final int minLimit;
+
+    private final int maxLimit;
+
+    private final double tolerance;
+
+    private final double smoothing;
+
+    private final int sampleWindow;
+
+    private final int baselineWindow;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private volatile double limit;
+
+    // guarded by this
+    private double baselineNanos;
+    private long baselineSamples;
+    private long windowNanos;
+    private int windowSamples;
+    private int windowMaxInFlight;
+
+    public GradientLimiter(String name, ConcurrencyLimitProperties.Group group, ConcurrencyLimitProperties properties) {
+        this.name = name;
+        this.minLimit = group.getMinLimit();
+        this.maxLimit = group.getMaxLimit();
+        this.limit = group.getInitialLimit();
+        this.tolerance = properties.getTolerance();
+        this.smoothing = properties.getSmoothing();
+        this.sampleWindow = properties.getSampleWindow();
+        this.baselineWindow = properties.getBaselineWindow();
+    }
+
+    // a permit, or false when the group is at its limit; every true must be followed by release
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= (int) limit) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    // elapsedNanos of the request, sample false for requests whose latency says nothing about load
+    public void release(long elapsedNanos, boolean sample) {
+        int current = inFlight.getAndDecrement();
+        if (sample) {
+            onSample(elapsedNanos, current);
+        }
+    }
+
+    private synchronized void onSample(long elapsedNanos, int inFlightAtEnd) {
+        windowNanos += elapsedNanos;
+        windowSamples++;
+        windowMaxInFlight = Math.max(windowMaxInFlight, inFlightAtEnd);
+        if (windowSamples < sampleWindow) {
+            return;
+        }
+
+        double shortNanos = (double) windowNanos / windowSamples;
+        int maxInFlight = windowMaxInFlight;
+        windowNanos = 0;
+        windowSamples = 0;
+        windowMaxInFlight = 0;
+
+        // exponential average, warmed up with a plain average of the first windows
+        if (baselineSamples < baselineWindow) {
+            baselineSamples += sampleWindow;
+            baselineNanos += (shortNanos - baselineNanos) * sampleWindow / baselineSamples;
+        } else {
+            baselineNanos += (shortNanos - baselineNanos) * sampleWindow / baselineWindow;
+        }
+        // latency dropped below the baseline, e.g. after a slow phase: let the baseline follow quickly
+        if (shortNanos < baselineNanos) {
+            baselineNanos = shortNanos;
+        }
+
+        double gradient = Math.max(0.5, Math.min(1.0, tolerance * baselineNanos / shortNanos));
+        double newLimit = limit * gradient + Math.sqrt(limit);
+        // the limit was not reached, latency at this concurrency tells nothing about a higher one
+        if (newLimit > limit && maxInFlight < limit / 2) {
+            return;
+        }
+        newLimit = limit * (1 - smoothing) + newLimit * smoothing;
+        limit = Math.max(minLimit, Math.min(maxLimit, newLimit));
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+}
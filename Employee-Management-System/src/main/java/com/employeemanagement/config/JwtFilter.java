@@ -1,24 +1,32 @@
 package com.employeemanagement.config;
 
-import com.employeemanagement.service.CustomUserDetailsService;
 import com.employeemanagement.service.JwtService;
+import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.MalformedJwtException;
 import io.jsonwebtoken.SignatureException;
 import io.jsonwebtoken.ExpiredJwtException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.context.ApplicationContext;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 @Component
 public class JwtFilter extends OncePerRequestFilter {
@@ -26,8 +34,26 @@ public class JwtFilter extends OncePerRequestFilter {
     @Autowired
     private JwtService jwtService;
 
+    // cached CustomUserDetailsService, see CacheConfig
     @Autowired
-    ApplicationContext context;
+    private UserDetailsService userDetailsService;
+
+    // empty disables it
+    @Value("${app.metrics.scrape-token:}")
+    private String scrapeToken;
+
+    // auth.jwt.filter{phase=verify|user_lookup}
+    private Timer verifyTimer;
+
+    private Timer userLookupTimer;
+
+    @Autowired
+    public void bindMetrics(MeterRegistry meterRegistry) {
+        verifyTimer = Timer.builder("auth.jwt.filter").tag("phase", "verify")
+                .description("Token verification in JwtFilter").register(meterRegistry);
+        userLookupTimer = Timer.builder("auth.jwt.filter").tag("phase", "user_lookup")
+                .description("Principal lookup in JwtFilter").register(meterRegistry);
+    }
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
@@ -55,12 +81,33 @@ public class JwtFilter extends OncePerRequestFilter {
             return;  // Return response and don't proceed further
         }
 
+        // Prometheus cannot log in, and a JWT does not outlive a restart (the signing key is generated at startup)
+        if (isScrape(request, token)) {
+            SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                    "prometheus", null, List.of(new SimpleGrantedAuthority("ROLE_METRICS"))));
+            filterChain.doFilter(request, response);
+            return;
+        }
+
         try {
-            userName = jwtService.extractUsername(token);
+            // one verification per request (and none at all for a token seen before), see JwtService
+            Claims claims;
+            long verifyStart = System.nanoTime();
+            try {
+                claims = jwtService.extractClaims(token);
+            } finally {
+                verifyTimer.record(System.nanoTime() - verifyStart, TimeUnit.NANOSECONDS);
+            }
+            userName = claims.getSubject();
             if (userName != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                UserDetails userDetails = context.getBean(CustomUserDetailsService.class).loadUserByUsername(userName);
-
-                if (jwtService.validateToken(token, jwtService.extractUsername(token))) {
+                if (!jwtService.isTokenExpired(claims)) {
+                    UserDetails userDetails;
+                    long lookupStart = System.nanoTime();
+                    try {
+                        userDetails = userDetailsService.loadUserByUsername(userName);
+                    } finally {
+                        userLookupTimer.record(System.nanoTime() - lookupStart, TimeUnit.NANOSECONDS);
+                    }
                     UsernamePasswordAuthenticationToken authToken =
                             new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
                     authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
@@ -82,6 +129,12 @@ public class JwtFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
 
+    // the static app.metrics.scrape-token, only for /actuator/prometheus
+    private boolean isScrape(HttpServletRequest request, String token) {
+        return !scrapeToken.isEmpty() && request.getRequestURI().equals("/actuator/prometheus")
+                && MessageDigest.isEqual(scrapeToken.getBytes(StandardCharsets.UTF_8), token.getBytes(StandardCharsets.UTF_8));
+    }
+
     private boolean isPublicRoute(HttpServletRequest request) {
         // Skip token validation for specific public routes
         String uri = request.getRequestURI();
@@ -90,6 +143,7 @@ public class JwtFilter extends OncePerRequestFilter {
                 uri.equals("/swagger.html") ||
                 uri.equals("/swagger.yaml") ||
                 uri.equals("/h2-console/") ||
+                uri.equals("/actuator/health") ||
                 uri.equals("/auth/login") ||
                 uri.equals("/auth/register");
     }
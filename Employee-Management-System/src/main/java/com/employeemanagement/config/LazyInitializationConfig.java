@@ -0,0 +1,36 @@
+package com.employeemanagement.config;
+
+import com.employeemanagement.audit.AuditLog;
+import com.employeemanagement.controller.AuthController;
+import com.employeemanagement.service.AuthService;
+import com.employeemanagement.service.CustomUserDetailsService;
+import com.employeemanagement.service.JwtService;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.MethodIntrospector;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.util.Set;
+
+// with spring.main.lazy-initialization=true (faststart profile) these beans are still created at startup:
+// the login path, so the first login after a scale-out does not pay for it, the audit writer, the database check,
+// and anything with @Scheduled methods, whose schedules would otherwise never start
+@Configuration
+public class LazyInitializationConfig {
+
+    private static final Set<Class<?>> EAGER = Set.of(AuthController.class, AuthService.class,
+            CustomUserDetailsService.class, JwtService.class, AuditLog.class, FaststartDatabaseCheck.class);
+
+    @Bean
+    public static LazyInitializationExcludeFilter eagerBeans() {
+        return (beanName, beanDefinition, beanType) -> beanType != null
+                && (EAGER.stream().anyMatch(type -> type.isAssignableFrom(beanType)) || hasScheduledMethods(beanType));
+    }
+
+    private static boolean hasScheduledMethods(Class<?> beanType) {
+        return !MethodIntrospector.selectMethods(beanType, (MethodIntrospector.MetadataLookup<Scheduled>) method ->
+                AnnotatedElementUtils.findMergedAnnotation(method, Scheduled.class)).isEmpty();
+    }
+}
@@ -0,0 +1,77 @@
+package com.employeemanagement.config;
+
+import com.employeemanagement.config.ReplicaRoutingDataSource.ReplicaNode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// measures replica lag with a heartbeat row: the primary stamps replication_heartbeat on every check and each
+// replica is behind by however old its copy of the stamp is. Replicas that fail the query or lag more than
+// max-lag are ejected from rotation and come back once they have caught up
+public class ReplicaHealthCheck {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaHealthCheck.class);
+
+    private static final String READ_HEARTBEAT = "select beat_at from replication_heartbeat where id = 1";
+
+    private final JdbcTemplate primary;
+
+    private final Map<ReplicaNode, JdbcTemplate> replicas = new LinkedHashMap<>();
+
+    private final long maxLagMillis;
+
+    public ReplicaHealthCheck(DataSource primary, List<ReplicaNode> replicas, Duration maxLag, Duration timeout) {
+        this.primary = new JdbcTemplate(primary);
+        this.maxLagMillis = maxLag.toMillis();
+        for (ReplicaNode replica : replicas) {
+            // a hanging replica must not stall the checks of the others
+            JdbcTemplate jdbcTemplate = new JdbcTemplate(replica.getDataSource());
+            jdbcTemplate.setQueryTimeout((int) Math.max(1, timeout.toSeconds()));
+            this.replicas.put(replica, jdbcTemplate);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.datasource.health-check-interval:2s}")
+    public void check() {
+        long beat = System.currentTimeMillis();
+        try {
+            primary.update("update replication_heartbeat set beat_at = ? where id = 1", beat);
+        } catch (RuntimeException e) {
+            // nothing to compare against, leave the replicas as they are
+            log.warn("Could not write the replication heartbeat on the primary", e);
+            return;
+        }
+
+        for (Map.Entry<ReplicaNode, JdbcTemplate> entry : replicas.entrySet()) {
+            ReplicaNode replica = entry.getKey();
+            boolean healthy;
+            try {
+                Long replicated = entry.getValue().queryForObject(READ_HEARTBEAT, Long.class);
+                // another instance may have stamped a newer beat that already reached the replica
+                long lag = replicated == null ? Long.MAX_VALUE : Math.max(0, beat - replicated);
+                replica.setLagMillis(lag);
+                healthy = lag <= maxLagMillis;
+            } catch (RuntimeException e) {
+                replica.setLagMillis(-1);
+                healthy = false;
+                log.debug("Replica {} health check failed", replica.getName(), e);
+            }
+
+            if (healthy != replica.isHealthy()) {
+                if (healthy) {
+                    log.info("Replica {} is back in rotation, lag {} ms", replica.getName(), replica.getLagMillis());
+                } else {
+                    log.warn("Replica {} ejected from rotation, lag {} ms", replica.getName(), replica.getLagMillis());
+                }
+                replica.setHealthy(healthy);
+            }
+        }
+    }
+}
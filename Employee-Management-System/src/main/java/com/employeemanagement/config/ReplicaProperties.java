@@ -0,0 +1,41 @@
+package com.employeemanagement.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+// app.datasource.* - read replicas next to the primary in spring.datasource.*, routing is off while the list is empty
+@Data
+@ConfigurationProperties(prefix = "app.datasource")
+public class ReplicaProperties {
+
+    private List<Replica> replicas = new ArrayList<>();
+
+    // round-robin or least-connections
+    private String strategy = "round-robin";
+
+    // reads of a client that wrote within this window go to the primary
+    private Duration readYourWritesWindow = Duration.ofSeconds(5);
+
+    // replicas further behind the primary than this are taken out of rotation until they catch up
+    private Duration maxLag = Duration.ofSeconds(5);
+
+    private Duration healthCheckInterval = Duration.ofSeconds(2);
+
+    @Data
+    public static class Replica {
+
+        private String name;
+
+        private String url;
+
+        private String username;
+
+        private String password;
+
+        private int maximumPoolSize = 10;
+    }
+}
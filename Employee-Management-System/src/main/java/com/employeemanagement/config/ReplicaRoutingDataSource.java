@@ -0,0 +1,167 @@
+package com.employeemanagement.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// read-only transactions go to a healthy replica, everything else (writes, reads outside a transaction,
+// reads of a client inside its read-your-writes window) goes to the primary.
+// Must sit behind a LazyConnectionDataSourceProxy, otherwise the connection is taken before the
+// transaction is marked read-only
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    public static final String PRIMARY = "primary";
+
+    // set around reads whose result outlives the request, i.e. fills of the shared response caches. A replica
+    // can still be missing a committed write, and a stale copy cached there would be served to the writer too
+    private static final ThreadLocal<Boolean> PRIMARY_READS = new ThreadLocal<>();
+
+    private final List<ReplicaNode> replicas;
+
+    private final boolean leastConnections;
+
+    private final ReadYourWritesTracker readYourWrites;
+
+    private final AtomicInteger next = new AtomicInteger();
+
+    public ReplicaRoutingDataSource(HikariDataSource primary, List<ReplicaNode> replicas, boolean leastConnections,
+                                    ReadYourWritesTracker readYourWrites) {
+        this.replicas = replicas;
+        this.leastConnections = leastConnections;
+        this.readYourWrites = readYourWrites;
+
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, primary);
+        for (ReplicaNode replica : replicas) {
+            targets.put(replica.getName(), replica.getDataSource());
+        }
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            return PRIMARY;
+        }
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            // start the client's window once the write is visible on the primary
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    readYourWrites.recordWrite();
+                }
+            });
+            return PRIMARY;
+        }
+        if (PRIMARY_READS.get() != null || readYourWrites.wroteRecently()) {
+            return PRIMARY;
+        }
+        ReplicaNode replica = leastConnections ? leastBusy() : roundRobin();
+        return replica == null ? PRIMARY : replica.getName();
+    }
+
+    // try (PrimaryReads ignored = ReplicaRoutingDataSource.primaryReads()) { ... read-only service calls ... }
+    public static PrimaryReads primaryReads() {
+        Boolean previous = PRIMARY_READS.get();
+        PRIMARY_READS.set(Boolean.TRUE);
+        return () -> {
+            if (previous == null) {
+                PRIMARY_READS.remove();
+            }
+        };
+    }
+
+    public interface PrimaryReads extends AutoCloseable {
+        @Override
+        void close();
+    }
+
+    public List<ReplicaNode> getReplicas() {
+        return replicas;
+    }
+
+    // the primary pool is a bean of its own, the replica pools are only known here
+    public void close() {
+        for (ReplicaNode replica : replicas) {
+            replica.getDataSource().close();
+        }
+    }
+
+    private ReplicaNode roundRobin() {
+        int size = replicas.size();
+        int start = Math.floorMod(next.getAndIncrement(), size);
+        for (int i = 0; i < size; i++) {
+            ReplicaNode replica = replicas.get((start + i) % size);
+            if (replica.isHealthy()) {
+                return replica;
+            }
+        }
+        return null;
+    }
+
+    private ReplicaNode leastBusy() {
+        ReplicaNode best = null;
+        int fewest = Integer.MAX_VALUE;
+        for (ReplicaNode replica : replicas) {
+            if (!replica.isHealthy()) {
+                continue;
+            }
+            HikariPoolMXBean pool = replica.getDataSource().getHikariPoolMXBean();
+            int active = pool == null ? 0 : pool.getActiveConnections();
+            if (active < fewest) {
+                best = replica;
+                fewest = active;
+            }
+        }
+        return best;
+    }
+
+    public static class ReplicaNode {
+
+        private final String name;
+
+        private final HikariDataSource dataSource;
+
+        // out of rotation until the first health check has seen it caught up
+        private volatile boolean healthy;
+
+        private volatile long lagMillis = -1;
+
+        public ReplicaNode(String name, HikariDataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public HikariDataSource getDataSource() {
+            return dataSource;
+        }
+
+        public boolean isHealthy() {
+            return healthy;
+        }
+
+        public void setHealthy(boolean healthy) {
+            this.healthy = healthy;
+        }
+
+        public long getLagMillis() {
+            return lagMillis;
+        }
+
+        public void setLagMillis(long lagMillis) {
+            this.lagMillis = lagMillis;
+        }
+    }
+}
@@ -1,7 +1,11 @@
 package com.employeemanagement.config;
 
+import com.employeemanagement.service.CustomUserDetailsService;
+import jakarta.servlet.DispatcherType;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -13,27 +17,34 @@ import org.springframework.security.config.annotation.authentication.configurati
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
-import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
 @Configuration
 @EnableWebSecurity
+@EnableConfigurationProperties(ConcurrencyLimitProperties.class)
 public class SecurityConfig {
 
     @Autowired
     private JwtFilter jwtFilter;
 
     @Autowired
-    private UserDetailsService userDetailsService;
+    private ConcurrencyLimitFilter concurrencyLimitFilter;
+
+    @Autowired
+    private CustomUserDetailsService userDetailsService;
+
+    @Value("${app.security.bcrypt.strength:12}")
+    private int bcryptStrength;
 
     @Bean
     public AuthenticationProvider authProvider() {
         DaoAuthenticationProvider provider = new DaoAuthenticationProvider();
         provider.setUserDetailsService(userDetailsService);
         provider.setPasswordEncoder(passwordEncoder());
+        // rehash the stored password on a successful login when its cost is not bcryptStrength
+        provider.setUserDetailsPasswordService(userDetailsService);
         return provider;
     }
 
@@ -42,15 +53,30 @@ public class SecurityConfig {
         http
                 .csrf(customizer -> customizer.disable())
                 .authorizeHttpRequests(request -> request
+                        // the dispatch that writes an async result (login, audit long poll); JwtFilter does not run
+                        // on it, the request was authorized on its first dispatch
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                         // public routes
                         .requestMatchers("/", "/*.html", "/swagger.yaml", "/auth/register", "/auth/login",
-                                "/h2-console/**")
+                                "/h2-console/**", "/actuator/health")
                         .permitAll()
-                        // User can access GET, but not PUT, POST, DELETE
+                        // the Prometheus scraper authenticates with app.metrics.scrape-token, see JwtFilter
+                        .requestMatchers("/actuator/prometheus").hasAnyRole("ADMIN", "METRICS")
+                        // metrics and cache stats
+                        .requestMatchers("/actuator/**").hasRole("ADMIN")
+                        // audit trail of employee mutations
+                        .requestMatchers("/api/audit/**").hasRole("ADMIN")
+                        // User can access GET, but not PUT, PATCH, POST, DELETE
                         .requestMatchers(HttpMethod.GET, "/api/employees/**").hasAnyRole("ADMIN", "USER")
+                        // multi-get by id is a read that only takes a body for long id lists
+                        .requestMatchers(HttpMethod.POST, "/api/employees/lookup").hasAnyRole("ADMIN", "USER")
                         .requestMatchers(HttpMethod.PUT, "/api/employees/{id}").hasRole("ADMIN")
+                        .requestMatchers(HttpMethod.PATCH, "/api/employees/{id}").hasRole("ADMIN")
                         .requestMatchers(HttpMethod.POST, "/api/employees/**").hasRole("ADMIN")
                         .requestMatchers(HttpMethod.DELETE, "/api/employees/{id}").hasRole("ADMIN")
+                        // bulk update and delete by filter
+                        .requestMatchers(HttpMethod.PATCH, "/api/employees").hasRole("ADMIN")
+                        .requestMatchers(HttpMethod.DELETE, "/api/employees").hasRole("ADMIN")
 
                         // Any other requests must be authenticated
                         .anyRequest().authenticated())
@@ -69,7 +95,9 @@ public class SecurityConfig {
                 .headers(headers -> headers
                         .frameOptions(frameOptions -> frameOptions.sameOrigin()))
                 .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
-                .addFilterBefore(jwtFilter, UsernamePasswordAuthenticationFilter.class);
+                .addFilterBefore(jwtFilter, UsernamePasswordAuthenticationFilter.class)
+                // load shedding ahead of token verification
+                .addFilterBefore(concurrencyLimitFilter, JwtFilter.class);
 
         return http.build();
     }
@@ -81,6 +109,6 @@ public class SecurityConfig {
 
     @Bean
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder(12);
+        return new TargetCostBCryptPasswordEncoder(bcryptStrength);
     }
 }
@@ -0,0 +1,60 @@
+package com.employeemanagement.controller;
+
+import com.employeemanagement.audit.AuditLog;
+import com.employeemanagement.audit.AuditQuery;
+import com.employeemanagement.audit.AuditRecord;
+import com.employeemanagement.dto.AuditPage;
+import com.employeemanagement.dto.ResponseObject;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+
+@Validated
+@RestController
+@RequestMapping("/api")
+@ConditionalOnProperty(name = "app.audit.enabled", havingValue = "true", matchIfMissing = true)
+public class AuditController {
+
+    @Autowired
+    private AuditLog auditLog;
+
+//    /audit?employeeId=42&actor=admin@example.com&from=2025-01-01T00:00:00Z&to=...&afterSequence=0&limit=100
+//    tail it with /audit?afterSequence={lastSequence}&waitSeconds=30
+
+    // a long poll is answered asynchronously, the request thread goes back to Tomcat while it waits
+    @GetMapping("/audit")
+    public CompletableFuture<ResponseEntity<ResponseObject<AuditPage>>> getAuditRecords(@RequestParam(defaultValue = "0") @Min(value = 0, message = "afterSequence must be 0 or greater") long afterSequence,
+                                                                                        @RequestParam(required = false) Long employeeId,
+                                                                                        @RequestParam(required = false) String actor,
+                                                                                        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant from,
+                                                                                        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant to,
+                                                                                        @RequestParam(defaultValue = "100") @Min(value = 1, message = "Limit must be at least 1") @Max(value = 10000, message = "Limit must be at most 10000") int limit,
+                                                                                        @RequestParam(defaultValue = "0") @Min(value = 0, message = "waitSeconds must be 0 or greater") @Max(value = 60, message = "waitSeconds must be at most 60") int waitSeconds) throws IOException {
+        AuditQuery query = new AuditQuery(afterSequence, employeeId, actor, from, to, limit);
+        CompletableFuture<List<AuditRecord>> records = waitSeconds == 0
+                ? CompletableFuture.completedFuture(auditLog.query(query))
+                : auditLog.poll(query, Duration.ofSeconds(waitSeconds));
+
+        return records.thenApply(page -> {
+            long lastSequence = page.isEmpty() ? afterSequence : page.get(page.size() - 1).getSequence();
+            ResponseObject<AuditPage> response = new ResponseObject<>(true, 200, "Successful Request", new AuditPage(page, lastSequence));
+            return new ResponseEntity<>(response, HttpStatus.OK);
+        });
+    }
+}
@@ -2,6 +2,7 @@ package com.employeemanagement.controller;
 
 import com.employeemanagement.dto.LoginRequest;
 import com.employeemanagement.dto.ResponseObject;
+import com.employeemanagement.exceptionhandling.ServiceUnavailableException;
 import com.employeemanagement.exceptionhandling.UserAlreadyExistsException;
 import com.employeemanagement.model.User;
 import com.employeemanagement.service.AuthService;
@@ -13,6 +14,7 @@ import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 @Validated
 @RestController
@@ -32,13 +34,14 @@ public class AuthController {
         return new ResponseEntity<>(response, HttpStatus.CREATED);
     }
 
-    // Login
+    // Login, answered asynchronously once the login pool has checked the password
     @PostMapping("/login")
-    public ResponseEntity<ResponseObject<Map<String, String>>> login(@Valid @RequestBody LoginRequest loginRequest) {
-        Map<String, String> token = authService.loginUser(loginRequest);
-        ResponseObject<Map<String, String>> response = new ResponseObject<>(true, 200, "Successful Request", token);
-
-        return new ResponseEntity<>(response, HttpStatus.OK);
+    public CompletableFuture<ResponseEntity<ResponseObject<Map<String, String>>>> login(@Valid @RequestBody LoginRequest loginRequest)
+            throws ServiceUnavailableException {
+        return authService.loginUser(loginRequest).thenApply(token -> {
+            ResponseObject<Map<String, String>> response = new ResponseObject<>(true, 200, "Successful Request", token);
+            return new ResponseEntity<>(response, HttpStatus.OK);
+        });
     }
 
 }
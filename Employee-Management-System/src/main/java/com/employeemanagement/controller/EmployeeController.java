@@ -1,21 +1,60 @@
 package com.employeemanagement.controller;
 
 
+import com.employeemanagement.config.ReplicaRoutingDataSource;
+import com.employeemanagement.config.ReplicaRoutingDataSource.PrimaryReads;
+import com.employeemanagement.dto.BulkChangeResult;
+import com.employeemanagement.dto.BulkImportResult;
+import com.employeemanagement.dto.CachedResponse;
+import com.employeemanagement.dto.DepartmentStats;
+import com.employeemanagement.dto.EmployeeBulkUpdate;
+import com.employeemanagement.dto.EmployeeChanges;
+import com.employeemanagement.dto.EmployeeFilter;
+import com.employeemanagement.dto.EmployeeLookup;
+import com.employeemanagement.dto.EmployeeLookupResult;
+import com.employeemanagement.dto.EmployeePatch;
+import com.employeemanagement.dto.KeysetPage;
 import com.employeemanagement.exceptionhandling.AccessForbiddenException;
+import com.employeemanagement.exceptionhandling.ChangeCursorExpiredException;
+import com.employeemanagement.exceptionhandling.InvalidBulkOperationException;
+import com.employeemanagement.exceptionhandling.InvalidCursorException;
 import com.employeemanagement.exceptionhandling.NoEmployeeException;
+import com.employeemanagement.exceptionhandling.ServiceUnavailableException;
 import com.employeemanagement.model.Employee;
 import com.employeemanagement.dto.ResponseObject;
+import com.employeemanagement.service.EmployeeChangeFeedService;
+import com.employeemanagement.service.EmployeeChangeStream;
+import com.employeemanagement.service.EmployeeExportService;
+import com.employeemanagement.service.EmployeeFields;
+import com.employeemanagement.service.EmployeeImportService;
+import com.employeemanagement.service.EmployeeListCache;
+import com.employeemanagement.service.EmployeeResponseCache;
 import com.employeemanagement.service.EmployeeService;
+import com.employeemanagement.service.EmployeeStatsService;
+import com.employeemanagement.service.ResponseFormat;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
 
 
 @Validated
@@ -27,15 +66,82 @@ public class EmployeeController {
     @Autowired
     private EmployeeService service;
 
+    @Autowired
+    private EmployeeExportService exportService;
+
+    @Autowired
+    private EmployeeImportService importService;
+
+    @Autowired
+    private EmployeeStatsService statsService;
+
+    @Autowired
+    private EmployeeResponseCache responseCache;
+
+    @Autowired
+    private EmployeeListCache listCache;
+
+    @Autowired
+    private EmployeeChangeFeedService changeFeedService;
+
+    @Autowired
+    private EmployeeChangeStream changeStream;
+
     // /employees?page=0&size=10&sort=name,asc
+    // /employees?pagination=keyset&size=10&sort=name,asc, then /employees?cursor={nextCursor}&size=10&sort=name,asc
+    // add &fields=id,name,department to any of them to load and return only those fields
+    // filter with &department=Sales,HR&minAge=30&maxAge=40&minSalary=50000&maxSalary=90000
+    //             &createdFrom=2025-01-01T00:00:00&createdTo=...&updatedFrom=...&updatedTo=...
 
     @GetMapping("/employees")
-    public ResponseEntity<ResponseObject<List<Employee>>> getAllEmployees(@RequestParam(defaultValue = "0") @Min(value = 0, message = "Page must be 0 or greater") int page,
-                                                                          @RequestParam(defaultValue = "10") @Min(value = 1, message = "Size must be at least 1") int size,
-                                                                          @RequestParam(defaultValue = "name,asc") @Pattern(regexp = "^(id|name|department|age|salary),(asc|desc)$", message = "Invalid sort format. Use 'field,asc' or 'field,desc'") String sort) {
-        List<Employee> employees = service.getAllEmployees(page, size, sort);
-        ResponseObject<List<Employee>> response = new ResponseObject<>(true, 200, "Successful Request", employees);
-        return new ResponseEntity<>(response, HttpStatus.OK);
+    public ResponseEntity<?> getAllEmployees(@RequestParam(defaultValue = "0") @Min(value = 0, message = "Page must be 0 or greater") int page,
+                                             @RequestParam(defaultValue = "10") @Min(value = 1, message = "Size must be at least 1") int size,
+                                             @RequestParam(defaultValue = "name,asc") @Pattern(regexp = "^(id|name|department|age|salary),(asc|desc)$", message = "Invalid sort format. Use 'field,asc' or 'field,desc'") String sort,
+                                             @RequestParam(defaultValue = "offset") @Pattern(regexp = "^(offset|keyset)$", message = "Invalid pagination. Use 'offset' or 'keyset'") String pagination,
+                                             @RequestParam(required = false) String cursor,
+                                             @RequestParam(required = false) @Pattern(regexp = EmployeeFields.PATTERN, message = EmployeeFields.PATTERN_MESSAGE) String fields,
+                                             @Valid EmployeeFilter filter,
+                                             @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+                                             @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) throws InvalidCursorException, JsonProcessingException {
+        List<String> fieldList = EmployeeFields.parse(fields);
+
+        if (cursor != null || pagination.equals("keyset")) {
+            if (fieldList != null) {
+                KeysetPage<Map<String, Object>> employees = service.getEmployeesByCursor(size, sort, cursor, filter, fieldList);
+                ResponseObject<KeysetPage<Map<String, Object>>> response = new ResponseObject<>(true, 200, "Successful Request", employees);
+                return new ResponseEntity<>(response, HttpStatus.OK);
+            }
+            KeysetPage<Employee> employees = service.getEmployeesByCursor(size, sort, cursor, filter);
+            ResponseObject<KeysetPage<Employee>> response = new ResponseObject<>(true, 200, "Successful Request", employees);
+            return new ResponseEntity<>(response, HttpStatus.OK);
+        }
+
+        // the bytes are cached per format, so the converters' content negotiation is done here
+        ResponseFormat format = ResponseFormat.negotiate(accept);
+
+        // nothing was written since this generation, the client copy is still good
+        long generation = listCache.generation();
+        String etag = listCache.etag(generation, page, size, sort, fieldList, filter, format);
+        if (etagMatches(ifNoneMatch, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).varyBy(HttpHeaders.ACCEPT).build();
+        }
+
+        CachedResponse cached = listCache.get(generation, page, size, sort, fieldList, filter, format);
+        if (cached == null) {
+            // the page is cached for every client, so it is read from the primary, never from a lagging replica
+            List<?> employees;
+            try (PrimaryReads ignored = ReplicaRoutingDataSource.primaryReads()) {
+                employees = fieldList == null
+                        ? service.getAllEmployees(page, size, sort, filter)
+                        : service.getAllEmployees(page, size, sort, filter, fieldList);
+            }
+            cached = listCache.put(generation, page, size, sort, fieldList, filter, format, employees);
+        }
+        return ResponseEntity.ok()
+                .eTag(cached.getEtag())
+                .varyBy(HttpHeaders.ACCEPT)
+                .contentType(format.getMediaType())
+                .body(cached.getBody());
 
 
     }
@@ -49,13 +155,119 @@ public class EmployeeController {
 
     }
 
+    // body is read as a stream, rows are validated and inserted chunk by chunk
+
+    @PostMapping(value = "/employees/bulk", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<ResponseObject<BulkImportResult>> bulkImportJson(HttpServletRequest request) throws IOException {
+        BulkImportResult result = importService.importJson(request.getInputStream());
+        if (result.isPartial()) {
+            // the rows before the broken part are committed, the body as a whole is still a bad request
+            ResponseObject<BulkImportResult> response = new ResponseObject<>(false, 400,
+                    "Bad Request. Malformed JSON, bulk import stopped after " + result.getReceived() + " rows", result);
+            return new ResponseEntity<>(response, HttpStatus.BAD_REQUEST);
+        }
+        ResponseObject<BulkImportResult> response = new ResponseObject<>(true, 200, "Bulk import completed", result);
+        return new ResponseEntity<>(response, HttpStatus.OK);
+    }
+
+    @PostMapping(value = "/employees/bulk", consumes = "text/csv")
+    public ResponseEntity<ResponseObject<BulkImportResult>> bulkImportCsv(HttpServletRequest request) throws IOException {
+        BulkImportResult result = importService.importCsv(request.getInputStream());
+        if (result.isPartial()) {
+            // the header lacks a required column, no row was read
+            ResponseObject<BulkImportResult> response = new ResponseObject<>(false, 400,
+                    "Bad Request. " + result.getErrors().get(0).getMessage() + ", bulk import stopped", result);
+            return new ResponseEntity<>(response, HttpStatus.BAD_REQUEST);
+        }
+        ResponseObject<BulkImportResult> response = new ResponseObject<>(true, 200, "Bulk import completed", result);
+        return new ResponseEntity<>(response, HttpStatus.OK);
+    }
+
+//    /employees/stats?groupBy=department
+
+    @GetMapping("/employees/stats")
+    public ResponseEntity<ResponseObject<List<DepartmentStats>>> getEmployeeStats(@RequestParam(defaultValue = "department") @Pattern(regexp = "^department$", message = "Invalid groupBy. Use 'department'") String groupBy) {
+        List<DepartmentStats> stats = statsService.getDepartmentStats();
+        ResponseObject<List<DepartmentStats>> response = new ResponseObject<>(true, 200, "Successful Request", stats);
+        return new ResponseEntity<>(response, HttpStatus.OK);
+    }
+
+//    /employees/changes?since={nextCursor}&limit=500, without since for a full sync
+
+    @GetMapping("/employees/changes")
+    public ResponseEntity<ResponseObject<EmployeeChanges>> getEmployeeChanges(@RequestParam(required = false) String since,
+                                                                              @RequestParam(defaultValue = "500") @Min(value = 1, message = "Limit must be at least 1") @Max(value = 5000, message = "Limit must be at most 5000") int limit) throws InvalidCursorException, ChangeCursorExpiredException {
+        EmployeeChanges changes = changeFeedService.getChanges(since, limit);
+        ResponseObject<EmployeeChanges> response = new ResponseObject<>(true, 200, "Successful Request", changes);
+        return new ResponseEntity<>(response, HttpStatus.OK);
+    }
+
+//    /employees/changes/stream, server-sent events named created, updated and deleted
+
+    @GetMapping(value = "/employees/changes/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamEmployeeChanges() throws ServiceUnavailableException {
+        return changeStream.subscribe();
+    }
+
+    // answers If-None-Match with 304 and otherwise serves pre-serialized bytes when it can.
+    // with fields= only those columns are selected and the response cache is not used
+
     @GetMapping("/employees/{id}")
-    public ResponseEntity<ResponseObject<Employee>> getEmployeeById(@PathVariable Long id) throws NoEmployeeException {
+    public ResponseEntity<?> getEmployeeById(@PathVariable Long id,
+                                             @RequestParam(required = false) @Pattern(regexp = EmployeeFields.PATTERN, message = EmployeeFields.PATTERN_MESSAGE) String fields,
+                                             @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+                                             @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) throws NoEmployeeException, JsonProcessingException {
+        List<String> fieldList = EmployeeFields.parse(fields);
+        if (fieldList != null) {
+            Map<String, Object> employee = service.getEmployeeById(id, fieldList);
+            ResponseObject<Map<String, Object>> response = new ResponseObject<>(true, 200, "Successful Request", employee);
+            return new ResponseEntity<>(response, HttpStatus.OK);
+        }
+
+        ResponseFormat format = ResponseFormat.negotiate(accept);
+        CachedResponse cached = responseCache.get(id, format);
+        if (cached == null) {
+            long generation = responseCache.generation();
+            // cached for every client, read from the primary like the list pages
+            Employee employee;
+            try (PrimaryReads ignored = ReplicaRoutingDataSource.primaryReads()) {
+                employee = service.getEmployeeById(id);
+            }
+            String etag = EmployeeResponseCache.etag(employee, format);
+            if (etagMatches(ifNoneMatch, etag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).varyBy(HttpHeaders.ACCEPT).build();
+            }
+            cached = responseCache.put(employee, format, generation);
+        }
+
+        if (etagMatches(ifNoneMatch, cached.getEtag())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(cached.getEtag()).varyBy(HttpHeaders.ACCEPT).build();
+        }
+        return ResponseEntity.ok()
+                .eTag(cached.getEtag())
+                .varyBy(HttpHeaders.ACCEPT)
+                .contentType(format.getMediaType())
+                .body(cached.getBody());
+
+    }
+
+//    many employees in one request, in the order asked for, unknown ids come back with found=false:
+//    /employees?ids=7,3,12&fields=id,name for up to 100 ids
+//    POST /employees/lookup with {"ids": [7, 3, 12], "fields": "id,name"} for up to 1000
 
-        Employee employee = service.getEmployeeById(id);
-        ResponseObject<Employee> response = new ResponseObject<>(true, 200, "Successful Request", employee);
+    @GetMapping(value = "/employees", params = "ids")
+    public ResponseEntity<ResponseObject<List<EmployeeLookupResult>>> getEmployeesByIds(@RequestParam @Size(min = 1, max = 100, message = "Give 1 to 100 ids, use POST /api/employees/lookup for more") List<@NotNull(message = "ids must not contain empty values") Long> ids,
+                                                                                       @RequestParam(required = false) @Pattern(regexp = EmployeeFields.PATTERN, message = EmployeeFields.PATTERN_MESSAGE) String fields) {
+        List<EmployeeLookupResult> employees = service.getEmployeesByIds(ids, EmployeeFields.parse(fields));
+        ResponseObject<List<EmployeeLookupResult>> response = new ResponseObject<>(true, 200, "Successful Request", employees);
         return new ResponseEntity<>(response, HttpStatus.OK);
+    }
 
+    @PostMapping("/employees/lookup")
+    public ResponseEntity<ResponseObject<List<EmployeeLookupResult>>> lookupEmployees(@Valid @RequestBody EmployeeLookup lookup) {
+        List<EmployeeLookupResult> employees = service.getEmployeesByIds(lookup.getIds(), EmployeeFields.parse(lookup.getFields()));
+        ResponseObject<List<EmployeeLookupResult>> response = new ResponseObject<>(true, 200, "Successful Request", employees);
+        return new ResponseEntity<>(response, HttpStatus.OK);
     }
 
     @PutMapping("/employees/{id}")
@@ -66,6 +278,16 @@ public class EmployeeController {
         return new ResponseEntity<>(response, HttpStatus.OK);
     }
 
+    // only the fields present in the body are written
+
+    @PatchMapping("/employees/{id}")
+    public ResponseEntity<ResponseObject<Employee>> patchEmployeeById(@PathVariable Long id, @Valid @RequestBody EmployeePatch patch) throws NoEmployeeException {
+
+        Employee updatedEmployee = service.patchEmployeeById(id, patch);
+        ResponseObject<Employee> response = new ResponseObject<>(true, 200, "Employee updated successfully", updatedEmployee);
+        return new ResponseEntity<>(response, HttpStatus.OK);
+    }
+
     @DeleteMapping("/employees/{id}")
     public ResponseEntity<ResponseObject<String>> deleteEmployeeById(@PathVariable Long id) throws NoEmployeeException {
         String result = service.deleteEmployeeById(id);
@@ -74,13 +296,84 @@ public class EmployeeController {
 
     }
 
-//    /employees/search?query={searchTerm}
+//    bulk operations on every employee matching the same filter parameters as GET /employees, a filter is required
+//    PATCH /employees?department=Sales with {"salaryRaisePercent": 5}
+//    PATCH /employees?department=Testing with {"department": "QA"}
+//    DELETE /employees?department=Support
+
+    @PatchMapping("/employees")
+    public ResponseEntity<ResponseObject<BulkChangeResult>> updateEmployees(@Valid EmployeeFilter filter,
+                                                                            @Valid @RequestBody EmployeeBulkUpdate update) throws InvalidBulkOperationException {
+        int affected = service.updateEmployees(filter, update);
+        ResponseObject<BulkChangeResult> response = new ResponseObject<>(true, 200, "Employees updated successfully", new BulkChangeResult(affected));
+        return new ResponseEntity<>(response, HttpStatus.OK);
+    }
+
+    @DeleteMapping("/employees")
+    public ResponseEntity<ResponseObject<BulkChangeResult>> deleteEmployees(@Valid EmployeeFilter filter) throws InvalidBulkOperationException {
+        int affected = service.deleteEmployees(filter);
+        ResponseObject<BulkChangeResult> response = new ResponseObject<>(true, 200, "Employees deleted successfully", new BulkChangeResult(affected));
+        return new ResponseEntity<>(response, HttpStatus.OK);
+    }
+
+//    /employees/search?query={searchTerm}&limit=50
 
     @GetMapping("/employees/search")
-    public ResponseEntity<ResponseObject<List<Employee>>> searchEmployees(@RequestParam String query) {
-        List<Employee> employees = service.searchEmployees(query);
-        ResponseObject<List<Employee>> response = new ResponseObject<>(true, 200, "Successful Request", employees);
+    public ResponseEntity<ResponseObject<List<?>>> searchEmployees(@RequestParam String query,
+                                                                   @RequestParam(defaultValue = "50") @Min(value = 1, message = "Limit must be at least 1") @Max(value = 1000, message = "Limit must be at most 1000") int limit,
+                                                                   @RequestParam(required = false) @Pattern(regexp = EmployeeFields.PATTERN, message = EmployeeFields.PATTERN_MESSAGE) String fields) {
+        List<String> fieldList = EmployeeFields.parse(fields);
+        List<?> employees = fieldList == null
+                ? service.searchEmployees(query, limit)
+                : service.searchEmployees(query, limit, fieldList);
+        ResponseObject<List<?>> response = new ResponseObject<>(true, 200, "Successful Request", employees);
         return new ResponseEntity<>(response, HttpStatus.OK);
 
     }
+
+//    /employees/export?format=ndjson&gzip=true
+
+    @GetMapping("/employees/export")
+    public ResponseEntity<StreamingResponseBody> exportEmployees(@RequestParam(defaultValue = "ndjson") @Pattern(regexp = "^(ndjson|csv)$", message = "Invalid format. Use 'ndjson' or 'csv'") String format,
+                                                                 @RequestParam(defaultValue = "false") boolean gzip) {
+        boolean csv = format.equals("csv");
+
+        // rows are written straight from the database cursor while the response is streaming
+        StreamingResponseBody body = outputStream -> {
+            OutputStream out = gzip ? new GZIPOutputStream(outputStream, 64 * 1024) : outputStream;
+            if (csv) {
+                exportService.exportAsCsv(out);
+            } else {
+                exportService.exportAsNdjson(out);
+            }
+            out.close();
+        };
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(csv ? new MediaType("text", "csv") : new MediaType("application", "x-ndjson"))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"employees." + (csv ? "csv" : "ndjson") + "\"");
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(body);
+    }
+
+    // If-None-Match may list several tags or be *. Weak comparison (RFC 9110 13.1.2): W/ is ignored on both sides
+    private static boolean etagMatches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        String opaque = opaqueTag(etag);
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*") || opaqueTag(tag).equals(opaque)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String opaqueTag(String etag) {
+        return etag.startsWith("W/") ? etag.substring(2) : etag;
+    }
 }
@@ -0,0 +1,18 @@
+package com.employeemanagement.dto;
+
+import com.employeemanagement.audit.AuditRecord;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AuditPage {
+    private List<AuditRecord> records;
+
+    // pass back as ?afterSequence= to continue after these records
+    private long lastSequence;
+}
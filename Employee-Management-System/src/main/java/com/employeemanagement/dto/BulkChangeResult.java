@@ -0,0 +1,14 @@
+package com.employeemanagement.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// outcome of a bulk update or delete by filter
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkChangeResult {
+    // rows written by the statement
+    private int affected;
+}
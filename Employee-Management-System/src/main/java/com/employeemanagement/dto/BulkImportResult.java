@@ -0,0 +1,31 @@
+package com.employeemanagement.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkImportResult {
+    private int received;
+    private int imported;
+    private int failed;
+    // malformed input stopped the import: rows before it are imported, nothing after it was read
+    private boolean partial;
+    // only the first errors are listed, failed holds the full count
+    private List<RowError> errors = new ArrayList<>();
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RowError {
+        // 1-based position of the row in the upload (header line excluded for CSV)
+        private int row;
+        private String message;
+    }
+}
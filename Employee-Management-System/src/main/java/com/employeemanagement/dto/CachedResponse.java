@@ -0,0 +1,12 @@
+package com.employeemanagement.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+// an already serialized ResponseObject and the ETag it is served with
+@Getter
+@AllArgsConstructor
+public class CachedResponse {
+    private final String etag;
+    private final byte[] body;
+}
@@ -0,0 +1,32 @@
+package com.employeemanagement.dto;
+
+import java.math.BigDecimal;
+
+// one row of the per-department GROUP BY used to (re)build the in-memory statistics
+public interface DepartmentAggregateRow {
+    String getDepartment();
+
+    Long getHeadcount();
+
+    Long getSalaryCount();
+
+    BigDecimal getSalarySum();
+
+    BigDecimal getMinSalary();
+
+    BigDecimal getMaxSalary();
+
+    Long getAgeSum();
+
+    Long getAge18to24();
+
+    Long getAge25to34();
+
+    Long getAge35to44();
+
+    Long getAge45to54();
+
+    Long getAge55to64();
+
+    Long getAge65plus();
+}
@@ -0,0 +1,23 @@
+package com.employeemanagement.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DepartmentStats {
+    private String department;
+    private long headcount;
+    private BigDecimal averageSalary;
+    private BigDecimal minSalary;
+    private BigDecimal maxSalary;
+    private double averageAge;
+    // age band ("18-24", "25-34", ... "65+") -> headcount
+    private Map<String, Long> ageDistribution;
+}
@@ -0,0 +1,18 @@
+package com.employeemanagement.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+// one event on the change stream for a bulk update, delete or import chunk: the ids, not the rows, which can
+// be fetched with GET /api/employees?ids= or the change feed
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EmployeeBulkChange {
+    private String type;
+    private int count;
+    private List<Long> ids;
+}
@@ -0,0 +1,25 @@
+package com.employeemanagement.dto;
+
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Pattern;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+// body of PATCH /api/employees?{filter}: applied to every matching employee, null (or absent) fields are
+// left unchanged. salaryRaisePercent 5 raises every salary by 5%, negative values cut it
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EmployeeBulkUpdate {
+
+    @Pattern(regexp = ".*\\S.*", message = "Department is required")
+    private String department;
+
+    @DecimalMin(value = "-100", inclusive = false, message = "salaryRaisePercent must be greater than -100")
+    @DecimalMax(value = "1000", message = "salaryRaisePercent must be at most 1000")
+    private BigDecimal salaryRaisePercent;
+}
@@ -0,0 +1,19 @@
+package com.employeemanagement.dto;
+
+import com.employeemanagement.model.Employee;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// one event on the change stream, employee is the row after the change and left out for deletes
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EmployeeChange {
+    private String type;
+    private Long id;
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Employee employee;
+}
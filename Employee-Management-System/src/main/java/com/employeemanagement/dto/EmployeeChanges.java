@@ -0,0 +1,21 @@
+package com.employeemanagement.dto;
+
+import com.employeemanagement.model.Employee;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+// one page of GET /api/employees/changes: employees created or updated and ids deleted since the cursor
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EmployeeChanges {
+    private List<Employee> changed;
+    private List<Long> deleted;
+
+    // pass back as ?since= for the next page, or the next poll once hasMore is false
+    private String nextCursor;
+    private boolean hasMore;
+}
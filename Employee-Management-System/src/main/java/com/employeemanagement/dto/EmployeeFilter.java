@@ -0,0 +1,54 @@
+package com.employeemanagement.dto;
+
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+// structured filter on GET /api/employees, bound from query parameters:
+// ?department=Sales,HR&minAge=30&maxSalary=90000&createdFrom=2025-01-01T00:00:00
+// ranges are inclusive, time windows include From and exclude To
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EmployeeFilter {
+
+    private List<@NotBlank(message = "Department must not be blank") String> department;
+
+    @Min(value = 0, message = "minAge must be 0 or greater")
+    private Integer minAge;
+
+    @Min(value = 0, message = "maxAge must be 0 or greater")
+    private Integer maxAge;
+
+    @DecimalMin(value = "0", message = "minSalary must be 0 or greater")
+    private BigDecimal minSalary;
+
+    @DecimalMin(value = "0", message = "maxSalary must be 0 or greater")
+    private BigDecimal maxSalary;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime createdFrom;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime createdTo;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime updatedFrom;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime updatedTo;
+
+    public boolean isEmpty() {
+        return (department == null || department.isEmpty()) && minAge == null && maxAge == null
+                && minSalary == null && maxSalary == null && createdFrom == null && createdTo == null
+                && updatedFrom == null && updatedTo == null;
+    }
+}
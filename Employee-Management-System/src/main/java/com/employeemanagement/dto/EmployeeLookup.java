@@ -0,0 +1,27 @@
+package com.employeemanagement.dto;
+
+import com.employeemanagement.service.EmployeeFields;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+// body of POST /api/employees/lookup, the form of GET /api/employees?ids= for id sets too long for a URL
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EmployeeLookup {
+
+    @NotEmpty(message = "ids is required")
+    @Size(max = 1000, message = "At most 1000 ids per lookup")
+    private List<@NotNull(message = "ids must not contain null") Long> ids;
+
+    // same as ?fields=, null for full employees
+    @Pattern(regexp = EmployeeFields.PATTERN, message = EmployeeFields.PATTERN_MESSAGE)
+    private String fields;
+}
@@ -0,0 +1,18 @@
+package com.employeemanagement.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// one entry per requested id, in request order: the employee, or found false when there is no such employee
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EmployeeLookupResult {
+    private Long id;
+    private boolean found;
+    // Employee, or a map of the requested fields
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Object employee;
+}
@@ -0,0 +1,34 @@
+package com.employeemanagement.dto;
+
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Email;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.Pattern;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+// body of PATCH /api/employees/{id}: null (or absent) fields are left unchanged,
+// present ones are checked with the same rules as Employee
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EmployeePatch {
+
+    @Pattern(regexp = ".*\\S.*", message = "Name is required")
+    private String name;
+
+    @Pattern(regexp = ".*\\S.*", message = "Department is required")
+    private String department;
+
+    @Min(value = 18, message = "Age must be at least 18")
+    private Integer age;
+
+    @Email
+    private String email;
+
+    @DecimalMin(value = "30000.00", message = "Salary must be at least 30,000.00")
+    private BigDecimal salary;
+}
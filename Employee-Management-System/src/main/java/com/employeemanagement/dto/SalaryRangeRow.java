@@ -0,0 +1,9 @@
+package com.employeemanagement.dto;
+
+import java.math.BigDecimal;
+
+public interface SalaryRangeRow {
+    BigDecimal getMinSalary();
+
+    BigDecimal getMaxSalary();
+}
@@ -0,0 +1,10 @@
+package com.employeemanagement.dto;
+
+import java.time.LocalDateTime;
+
+// one row of employee_tombstones, a deleted employee as seen by the change feed
+public interface TombstoneRow {
+    Long getEmployeeId();
+
+    LocalDateTime getDeletedAt();
+}
@@ -0,0 +1,21 @@
+package com.employeemanagement.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+// published once by a write that touches many rows (update or delete by filter, an import chunk) instead of
+// one EmployeeChangedEvent per row. Listeners handle the rows together: one change stream event per subscriber
+// instead of enough to overflow its queue, one cache invalidation, one hand-off to the audit writer
+@Getter
+@AllArgsConstructor
+public class EmployeeBulkChangedEvent {
+
+    private EmployeeChangedEvent.Type type;
+    private List<EmployeeChangedEvent> changes;
+
+    public List<Long> getEmployeeIds() {
+        return changes.stream().map(EmployeeChangedEvent::getEmployeeId).toList();
+    }
+}
@@ -0,0 +1,41 @@
+package com.employeemanagement.event;
+
+import com.employeemanagement.model.Employee;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+// published by the employee write paths once a row is created, updated or deleted.
+// before/after are detached copies, so listeners can keep them without seeing later changes
+@Getter
+@AllArgsConstructor
+public class EmployeeChangedEvent {
+
+    public enum Type {
+        CREATED, UPDATED, DELETED
+    }
+
+    private Type type;
+    private Employee before;
+    private Employee after;
+
+    public Long getEmployeeId() {
+        return after != null ? after.getId() : before.getId();
+    }
+
+    public static EmployeeChangedEvent created(Employee after) {
+        return new EmployeeChangedEvent(Type.CREATED, null, copyOf(after));
+    }
+
+    public static EmployeeChangedEvent updated(Employee before, Employee after) {
+        return new EmployeeChangedEvent(Type.UPDATED, before, copyOf(after));
+    }
+
+    public static EmployeeChangedEvent deleted(Employee before) {
+        return new EmployeeChangedEvent(Type.DELETED, before, null);
+    }
+
+    public static Employee copyOf(Employee employee) {
+        return new Employee(employee.getId(), employee.getName(), employee.getDepartment(), employee.getAge(),
+                employee.getEmail(), employee.getSalary(), employee.getCreatedAt(), employee.getUpdatedAt());
+    }
+}
@@ -0,0 +1,8 @@
+package com.employeemanagement.exceptionhandling;
+
+
+public class ChangeCursorExpiredException extends Exception {
+    public ChangeCursorExpiredException(String message) {
+        super(message);
+    }
+}
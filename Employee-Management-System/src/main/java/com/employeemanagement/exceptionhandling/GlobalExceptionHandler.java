@@ -1,7 +1,10 @@
 package com.employeemanagement.exceptionhandling;
 
 import com.employeemanagement.dto.ResponseObject;
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.validation.ConstraintViolationException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.BadCredentialsException;
@@ -12,9 +15,13 @@ import org.springframework.web.bind.annotation.RestControllerAdvice;
 @RestControllerAdvice
 public class GlobalExceptionHandler {
 
+    @Autowired
+    private MeterRegistry meterRegistry;
+
     // handle if employee data is not found
     @ExceptionHandler(NoEmployeeException.class)
     public ResponseEntity<ResponseObject<Object>> handleNoEmployeeException(NoEmployeeException e) {
+        countError("no_employee", HttpStatus.NOT_FOUND);
 
         ResponseObject<Object> response = new ResponseObject<>(false, HttpStatus.NOT_FOUND.value(), e.getMessage());
 
@@ -24,6 +31,7 @@ public class GlobalExceptionHandler {
     // when trying to access restricted resource
     @ExceptionHandler(AccessForbiddenException.class)
     public ResponseEntity<ResponseObject<Object>> handleAccessForBiddenException(AccessForbiddenException e) {
+        countError("access_forbidden", HttpStatus.FORBIDDEN);
 
         ResponseObject<Object> response = new ResponseObject<>(false, HttpStatus.FORBIDDEN.value(), e.getMessage());
         return new ResponseEntity<>(response, HttpStatus.FORBIDDEN);
@@ -32,6 +40,7 @@ public class GlobalExceptionHandler {
     // Handle validation errors for @RequestBody
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<ResponseObject<Object>> handleValidationExceptions(MethodArgumentNotValidException e) {
+        countError("invalid_body", HttpStatus.BAD_REQUEST);
         // String errors = e.getBindingResult().getFieldErrors()
         // .stream()
         // .map(DefaultMessageSourceResolvable::getDefaultMessage)
@@ -44,6 +53,7 @@ public class GlobalExceptionHandler {
     // Handle validation errors for @RequestParam, @PathVariable
     @ExceptionHandler(ConstraintViolationException.class)
     public ResponseEntity<ResponseObject<Object>> handleConstraintViolationException(ConstraintViolationException e) {
+        countError("invalid_parameter", HttpStatus.BAD_REQUEST);
         // String errors = e.getConstraintViolations()
         // .stream()
         // .map(ConstraintViolation::getMessage)
@@ -56,6 +66,7 @@ public class GlobalExceptionHandler {
     // handle if the registering user is already there
     @ExceptionHandler(UserAlreadyExistsException.class)
     public ResponseEntity<ResponseObject<Object>> handleInvalidInputException(UserAlreadyExistsException e) {
+        countError("user_exists", HttpStatus.BAD_REQUEST);
 
         ResponseObject<Object> response = new ResponseObject<>(false, HttpStatus.BAD_REQUEST.value(),
                 "Bad Request. " + e.getMessage());
@@ -63,9 +74,43 @@ public class GlobalExceptionHandler {
 
     }
 
+    // handle if the keyset cursor is malformed or belongs to another sort
+    @ExceptionHandler(InvalidCursorException.class)
+    public ResponseEntity<ResponseObject<Object>> handleInvalidCursorException(InvalidCursorException e) {
+        countError("invalid_cursor", HttpStatus.BAD_REQUEST);
+
+        ResponseObject<Object> response = new ResponseObject<>(false, HttpStatus.BAD_REQUEST.value(),
+                "Bad Request. " + e.getMessage());
+        return new ResponseEntity<>(response, HttpStatus.BAD_REQUEST);
+
+    }
+
+    // handle if a bulk update or delete has no filter, nothing to change or would break a constraint
+    @ExceptionHandler(InvalidBulkOperationException.class)
+    public ResponseEntity<ResponseObject<Object>> handleInvalidBulkOperationException(InvalidBulkOperationException e) {
+        countError("invalid_bulk_operation", HttpStatus.BAD_REQUEST);
+
+        ResponseObject<Object> response = new ResponseObject<>(false, HttpStatus.BAD_REQUEST.value(),
+                "Bad Request. " + e.getMessage());
+        return new ResponseEntity<>(response, HttpStatus.BAD_REQUEST);
+
+    }
+
+    // handle if a change feed cursor is older than the tombstones kept for it
+    @ExceptionHandler(ChangeCursorExpiredException.class)
+    public ResponseEntity<ResponseObject<Object>> handleChangeCursorExpiredException(ChangeCursorExpiredException e) {
+        countError("change_cursor_expired", HttpStatus.GONE);
+
+        ResponseObject<Object> response = new ResponseObject<>(false, HttpStatus.GONE.value(),
+                "Gone. " + e.getMessage());
+        return new ResponseEntity<>(response, HttpStatus.GONE);
+
+    }
+
     // handle for bad credentials
     @ExceptionHandler(BadCredentialsException.class)
     public ResponseEntity<ResponseObject<Object>> handleBadCredentialsException(BadCredentialsException e) {
+        countError("bad_credentials", HttpStatus.UNAUTHORIZED);
 
         ResponseObject<Object> response = new ResponseObject<>(false, HttpStatus.UNAUTHORIZED.value(),
                 "Unauthorized Request. " + e.getMessage());
@@ -73,13 +118,30 @@ public class GlobalExceptionHandler {
 
     }
 
+    // handle when the login pool is saturated
+    @ExceptionHandler(ServiceUnavailableException.class)
+    public ResponseEntity<ResponseObject<Object>> handleServiceUnavailableException(ServiceUnavailableException e) {
+        countError("service_unavailable", HttpStatus.SERVICE_UNAVAILABLE);
+
+        ResponseObject<Object> response = new ResponseObject<>(false, HttpStatus.SERVICE_UNAVAILABLE.value(),
+                "Service Unavailable. " + e.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header(HttpHeaders.RETRY_AFTER, "1").body(response);
+
+    }
+
     // all other exceptions
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ResponseObject<Object>> handleGeneralException(Exception e) {
+        countError("unhandled", HttpStatus.INTERNAL_SERVER_ERROR);
 
         ResponseObject<Object> response = new ResponseObject<>(false, HttpStatus.INTERNAL_SERVER_ERROR.value(),
                 "An error occurred: Internal Server Error");
         return new ResponseEntity<>(response, HttpStatus.INTERNAL_SERVER_ERROR);
     }
 
+    // api.errors{handler, status}, one series per handler branch
+    private void countError(String handler, HttpStatus status) {
+        meterRegistry.counter("api.errors", "handler", handler, "status", String.valueOf(status.value())).increment();
+    }
+
 }
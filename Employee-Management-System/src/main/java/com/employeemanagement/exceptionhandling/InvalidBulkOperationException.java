@@ -0,0 +1,8 @@
+package com.employeemanagement.exceptionhandling;
+
+
+public class InvalidBulkOperationException extends Exception {
+    public InvalidBulkOperationException(String message) {
+        super(message);
+    }
+}
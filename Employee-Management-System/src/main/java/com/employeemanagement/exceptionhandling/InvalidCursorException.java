@@ -0,0 +1,8 @@
+package com.employeemanagement.exceptionhandling;
+
+
+public class InvalidCursorException extends Exception {
+    public InvalidCursorException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,8 @@
+package com.employeemanagement.exceptionhandling;
+
+
+public class ServiceUnavailableException extends Exception {
+    public ServiceUnavailableException(String message) {
+        super(message);
+    }
+}
@@ -25,8 +25,10 @@ import java.time.LocalDateTime;
 @Entity
 @Table(name = "employees")
 public class Employee {
+    // pooled sequence instead of IDENTITY so inserts can be JDBC batched (see employees_seq in schema.sql)
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "employees_seq")
+    @SequenceGenerator(name = "employees_seq", sequenceName = "employees_seq", initialValue = 100, allocationSize = 50)
     private Long id;
 
     @NotBlank(message = "Name is required")
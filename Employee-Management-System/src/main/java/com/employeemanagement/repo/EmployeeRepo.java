@@ -1,12 +1,67 @@
 package com.employeemanagement.repo;
 
+import com.employeemanagement.dto.DepartmentAggregateRow;
+import com.employeemanagement.dto.SalaryRangeRow;
+import com.employeemanagement.dto.TombstoneRow;
 import com.employeemanagement.model.Employee;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
-public interface EmployeeRepo extends JpaRepository<Employee,Long> {
-    List<Employee> findByNameContainingIgnoreCaseOrDepartmentContainingIgnoreCase(String name,String department);
+public interface EmployeeRepo extends JpaRepository<Employee,Long>, JpaSpecificationExecutor<Employee>, EmployeeRepoCustom {
+    List<Employee> findByNameContainingIgnoreCaseOrDepartmentContainingIgnoreCaseOrEmailContainingIgnoreCase(String name, String department, String email);
+
+    // forward-only cursor over the whole table, must be consumed inside a transaction and closed
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select e from Employee e order by e.id")
+    Stream<Employee> streamAllBy();
+
+    @Query("select e.department as department, count(e) as headcount, count(e.salary) as salaryCount, "
+            + "sum(e.salary) as salarySum, min(e.salary) as minSalary, max(e.salary) as maxSalary, sum(e.age) as ageSum, "
+            + "sum(case when e.age < 25 then 1 else 0 end) as age18to24, "
+            + "sum(case when e.age >= 25 and e.age < 35 then 1 else 0 end) as age25to34, "
+            + "sum(case when e.age >= 35 and e.age < 45 then 1 else 0 end) as age35to44, "
+            + "sum(case when e.age >= 45 and e.age < 55 then 1 else 0 end) as age45to54, "
+            + "sum(case when e.age >= 55 and e.age < 65 then 1 else 0 end) as age55to64, "
+            + "sum(case when e.age >= 65 then 1 else 0 end) as age65plus "
+            + "from Employee e group by e.department")
+    List<DepartmentAggregateRow> aggregateByDepartment();
+
+    @Query("select min(e.salary) as minSalary, max(e.salary) as maxSalary from Employee e where e.department = :department")
+    SalaryRangeRow findSalaryRange(@Param("department") String department);
+
+    // change feed: rows modified after the (updatedAt, id) position and before until, oldest first
+    @Query("select e from Employee e where (e.updatedAt > :after or (e.updatedAt = :after and e.id > :afterId)) "
+            + "and e.updatedAt < :until order by e.updatedAt, e.id")
+    List<Employee> findChangedAfter(@Param("after") LocalDateTime after, @Param("afterId") Long afterId,
+                                    @Param("until") LocalDateTime until, Limit limit);
+
+    @Modifying
+    @Query(value = "insert into employee_tombstones (employee_id, deleted_at) values (:id, :deletedAt)", nativeQuery = true)
+    void insertTombstone(@Param("id") Long id, @Param("deletedAt") LocalDateTime deletedAt);
+
+    @Query(value = "select employee_id as employeeId, deleted_at as deletedAt from employee_tombstones "
+            + "where (deleted_at > :after or (deleted_at = :after and employee_id > :afterId)) and deleted_at < :until "
+            + "order by deleted_at, employee_id limit :limit", nativeQuery = true)
+    List<TombstoneRow> findTombstonesAfter(@Param("after") LocalDateTime after, @Param("afterId") Long afterId,
+                                           @Param("until") LocalDateTime until, @Param("limit") int limit);
+
+    @Modifying
+    @Query(value = "delete from employee_tombstones where deleted_at < :before", nativeQuery = true)
+    int deleteTombstonesBefore(@Param("before") LocalDateTime before);
 }
@@ -0,0 +1,45 @@
+package com.employeemanagement.repo;
+
+import com.employeemanagement.dto.EmployeeFilter;
+import com.employeemanagement.model.Employee;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+public interface EmployeeRepoCustom {
+
+    // keyset (seek) page: rows strictly after (lastValue, lastId) in the given order, no count query
+    List<Employee> findPageAfter(String sortField, boolean ascending, boolean hasKey, Object lastValue, Long lastId, int limit);
+
+    // the projected variants select only the given columns (plus id) into plain, unmanaged Employee
+    // objects with every other field left null, nothing enters the persistence context.
+    // fields null selects whole entities, filter null matches every employee
+
+    List<Employee> findPageAfter(String sortField, boolean ascending, boolean hasKey, Object lastValue, Long lastId, int limit,
+                                 Collection<String> fields, Specification<Employee> filter);
+
+    List<Employee> findProjectedPage(Collection<String> fields, Specification<Employee> filter, Pageable pageable);
+
+    List<Employee> findProjectedByIds(Collection<String> fields, Collection<Long> ids);
+
+    // single statement writes that hand back the row as it was before the change, null when no row has that id.
+    // values maps Employee field names (name, department, age, email, salary, updatedAt) to their new values
+    Employee updateReturningPrevious(Long id, Map<String, Object> values);
+
+    Employee deleteReturningPrevious(Long id);
+
+    // set-based variants: one statement over every employee matching the filter (which must not be empty),
+    // handing back the matched rows as they were before. department and salaryFactor may be null for unchanged
+    List<Employee> updateMatchingReturningPrevious(EmployeeFilter filter, String department, BigDecimal salaryFactor,
+                                                   LocalDateTime updatedAt);
+
+    List<Employee> deleteMatchingReturningPrevious(EmployeeFilter filter);
+
+    // multi-row inserts, a few hundred tombstones per statement
+    void insertTombstones(Collection<Long> ids, LocalDateTime deletedAt);
+}
@@ -0,0 +1,404 @@
+package com.employeemanagement.repo;
+
+import com.employeemanagement.dto.EmployeeFilter;
+import com.employeemanagement.model.Employee;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Order;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.hibernate.Session;
+import org.hibernate.query.criteria.HibernateCriteriaBuilder;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+// custom fragment of EmployeeRepo, picked up by Spring Data through the Impl suffix
+public class EmployeeRepoImpl implements EmployeeRepoCustom {
+
+    // same fields the sort @Pattern in EmployeeController allows
+    private static final Set<String> SORT_FIELDS = Set.of("id", "name", "department", "age", "salary");
+
+    // columns that may hold NULL, nulls are ordered low (first for asc, last for desc)
+    private static final Set<String> NULLABLE_FIELDS = Set.of("salary");
+
+    // fields a projection may select, the fields @Pattern in EmployeeController allows the same
+    private static final Set<String> PROJECTABLE_FIELDS = Set.of("id", "name", "department", "age", "email", "salary", "createdAt", "updatedAt");
+
+    // columns a single statement update may set, by Employee field name
+    private static final Map<String, String> UPDATABLE_COLUMNS = Map.of(
+            "name", "name",
+            "department", "department",
+            "age", "age",
+            "email", "email",
+            "salary", "salary",
+            "updatedAt", "updated_at");
+
+    private static final String RETURNED_COLUMNS = "id, name, department, age, email, salary, created_at, updated_at";
+
+    // rows per multi-row tombstone insert
+    private static final int TOMBSTONE_CHUNK = 500;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Employee> findPageAfter(String sortField, boolean ascending, boolean hasKey, Object lastValue, Long lastId, int limit) {
+        return findPageAfter(sortField, ascending, hasKey, lastValue, lastId, limit, null, null);
+    }
+
+    @Override
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public List<Employee> findPageAfter(String sortField, boolean ascending, boolean hasKey, Object lastValue, Long lastId, int limit,
+                                        Collection<String> fields, Specification<Employee> filter) {
+        if (!SORT_FIELDS.contains(sortField)) {
+            throw new IllegalArgumentException("Unsupported sort field: " + sortField);
+        }
+
+        boolean byId = sortField.equals("id");
+        boolean nullable = NULLABLE_FIELDS.contains(sortField);
+
+        // the next cursor is built from the sort value of the last row, so it is always selected
+        Collection<String> selected = fields == null ? null : withFields(fields, sortField);
+
+        HibernateCriteriaBuilder cb = entityManager.unwrap(Session.class).getCriteriaBuilder();
+        CriteriaQuery<?> query = selected == null ? cb.createQuery(Employee.class) : cb.createTupleQuery();
+        Root<Employee> root = select(cb, query, selected);
+
+        Path<Comparable> key = root.get(sortField);
+        Path<Long> id = root.get("id");
+
+        List<Predicate> where = new ArrayList<>();
+        if (filter != null) {
+            Predicate predicate = filter.toPredicate(root, query, cb);
+            if (predicate != null) {
+                where.add(predicate);
+            }
+        }
+
+        // (sortField, id) > (lastValue, lastId), spelled out as plain comparisons
+        if (hasKey) {
+            Predicate idAfter = ascending ? cb.greaterThan(id, lastId) : cb.lessThan(id, lastId);
+            if (byId) {
+                where.add(idAfter);
+            } else if (lastValue == null) {
+                Predicate after = cb.and(cb.isNull(key), idAfter);
+                where.add(ascending ? cb.or(after, cb.isNotNull(key)) : after);
+            } else {
+                Comparable value = (Comparable) lastValue;
+                Predicate after = cb.or(
+                        ascending ? cb.greaterThan(key, value) : cb.lessThan(key, value),
+                        cb.and(cb.equal(key, value), idAfter));
+                where.add(nullable && !ascending ? cb.or(after, cb.isNull(key)) : after);
+            }
+        }
+        query.where(where.toArray(Predicate[]::new));
+
+        // nulls are ordered low, the same way the keyset comparison above treats them
+        List<Order> order = new ArrayList<>(2);
+        if (nullable) {
+            order.add(ascending ? cb.asc(key, true) : cb.desc(key, false));
+        } else if (!byId) {
+            order.add(ascending ? cb.asc(key) : cb.desc(key));
+        }
+        order.add(ascending ? cb.asc(id) : cb.desc(id));
+        query.orderBy(order);
+
+        return results(entityManager.createQuery(query).setMaxResults(limit), selected);
+    }
+
+    @Override
+    public List<Employee> findProjectedPage(Collection<String> fields, Specification<Employee> filter, Pageable pageable) {
+        Collection<String> selected = withFields(fields);
+
+        HibernateCriteriaBuilder cb = entityManager.unwrap(Session.class).getCriteriaBuilder();
+        CriteriaQuery<?> query = cb.createTupleQuery();
+        Root<Employee> root = select(cb, query, selected);
+
+        if (filter != null) {
+            Predicate predicate = filter.toPredicate(root, query, cb);
+            if (predicate != null) {
+                query.where(predicate);
+            }
+        }
+
+        // same order findAll(Pageable) would use
+        List<Order> order = new ArrayList<>();
+        for (Sort.Order sort : pageable.getSort()) {
+            if (!SORT_FIELDS.contains(sort.getProperty())) {
+                throw new IllegalArgumentException("Unsupported sort field: " + sort.getProperty());
+            }
+            order.add(sort.isAscending() ? cb.asc(root.get(sort.getProperty())) : cb.desc(root.get(sort.getProperty())));
+        }
+        query.orderBy(order);
+
+        TypedQuery<?> typed = entityManager.createQuery(query);
+        if (pageable.isPaged()) {
+            typed.setFirstResult((int) pageable.getOffset()).setMaxResults(pageable.getPageSize());
+        }
+        return results(typed, selected);
+    }
+
+    // the whole entity when selected is null, otherwise a tuple of the selected fields under their own names
+    @SuppressWarnings("unchecked")
+    private static Root<Employee> select(CriteriaBuilder cb, CriteriaQuery<?> query, Collection<String> selected) {
+        Root<Employee> root = query.from(Employee.class);
+        if (selected == null) {
+            ((CriteriaQuery<Employee>) query).select(root);
+        } else {
+            List<Selection<?>> selections = new ArrayList<>(selected.size());
+            for (String field : selected) {
+                selections.add(root.get(field).alias(field));
+            }
+            ((CriteriaQuery<Tuple>) query).multiselect(selections);
+        }
+        return root;
+    }
+
+    @Override
+    public List<Employee> findProjectedByIds(Collection<String> fields, Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Collection<String> selected = withFields(fields);
+        TypedQuery<Tuple> query = entityManager.createQuery(selectClause(selected) + " from Employee e where e.id in :ids", Tuple.class)
+                .setParameter("ids", ids);
+        return results(query, selected);
+    }
+
+    // one round trip: H2's OLD TABLE delta returns the pre-update row, an empty result means the id does not exist
+    @Override
+    @Transactional
+    public Employee updateReturningPrevious(Long id, Map<String, Object> values) {
+        StringBuilder sql = new StringBuilder("select ").append(RETURNED_COLUMNS).append(" from old table (update employees set ");
+        List<Object> parameters = new ArrayList<>(values.size() + 1);
+        String separator = "";
+        for (Map.Entry<String, Object> value : values.entrySet()) {
+            String column = UPDATABLE_COLUMNS.get(value.getKey());
+            if (column == null) {
+                throw new IllegalArgumentException("Unsupported field: " + value.getKey());
+            }
+            sql.append(separator).append(column).append(" = ?");
+            parameters.add(value.getValue());
+            separator = ", ";
+        }
+        sql.append(" where id = ?)");
+        parameters.add(id);
+
+        Query query = entityManager.createNativeQuery(sql.toString(), Tuple.class);
+        for (int i = 0; i < parameters.size(); i++) {
+            query.setParameter(i + 1, parameters.get(i));
+        }
+        return previousRow(query);
+    }
+
+    @Override
+    @Transactional
+    public Employee deleteReturningPrevious(Long id) {
+        Query query = entityManager.createNativeQuery(
+                        "select " + RETURNED_COLUMNS + " from old table (delete from employees where id = ?)", Tuple.class)
+                .setParameter(1, id);
+        return previousRow(query);
+    }
+
+    // the same OLD TABLE delta over every row the filter matches; the rows are locked by the statement itself,
+    // so what comes back is exactly what was written
+    @Override
+    @Transactional
+    public List<Employee> updateMatchingReturningPrevious(EmployeeFilter filter, String department, BigDecimal salaryFactor,
+                                                          LocalDateTime updatedAt) {
+        StringBuilder sql = new StringBuilder("select ").append(RETURNED_COLUMNS).append(" from old table (update employees set ");
+        List<Object> parameters = new ArrayList<>();
+        if (department != null) {
+            sql.append("department = ?, ");
+            parameters.add(department);
+        }
+        if (salaryFactor != null) {
+            // HALF_UP to the column's scale, EmployeeService computes the new salary for the event the same way
+            sql.append("salary = round(salary * ?, 2), ");
+            parameters.add(salaryFactor);
+        }
+        sql.append("updated_at = ? where ");
+        parameters.add(updatedAt);
+        sql.append(where(filter, parameters)).append(")");
+        return previousRows(nativeQuery(sql.toString(), parameters));
+    }
+
+    @Override
+    @Transactional
+    public List<Employee> deleteMatchingReturningPrevious(EmployeeFilter filter) {
+        List<Object> parameters = new ArrayList<>();
+        String sql = "select " + RETURNED_COLUMNS + " from old table (delete from employees where " + where(filter, parameters) + ")";
+        return previousRows(nativeQuery(sql, parameters));
+    }
+
+    @Override
+    @Transactional
+    public void insertTombstones(Collection<Long> ids, LocalDateTime deletedAt) {
+        List<Long> remaining = new ArrayList<>(ids);
+        for (int from = 0; from < remaining.size(); from += TOMBSTONE_CHUNK) {
+            List<Long> chunk = remaining.subList(from, Math.min(from + TOMBSTONE_CHUNK, remaining.size()));
+            StringBuilder sql = new StringBuilder("insert into employee_tombstones (employee_id, deleted_at) values ");
+            List<Object> parameters = new ArrayList<>(chunk.size() * 2);
+            String separator = "";
+            for (Long id : chunk) {
+                sql.append(separator).append("(?, ?)");
+                parameters.add(id);
+                parameters.add(deletedAt);
+                separator = ", ";
+            }
+            bind(entityManager.createNativeQuery(sql.toString()), parameters).executeUpdate();
+        }
+    }
+
+    // native counterpart of EmployeeSpecifications.matching, same conditions so the same indexes apply
+    private static String where(EmployeeFilter filter, List<Object> parameters) {
+        if (filter == null || filter.isEmpty()) {
+            throw new IllegalArgumentException("A bulk statement needs a filter");
+        }
+        List<String> conditions = new ArrayList<>();
+        if (filter.getDepartment() != null && !filter.getDepartment().isEmpty()) {
+            conditions.add("department in (" + String.join(", ", Collections.nCopies(filter.getDepartment().size(), "?")) + ")");
+            parameters.addAll(filter.getDepartment());
+        }
+        condition(conditions, parameters, "age >= ?", filter.getMinAge());
+        condition(conditions, parameters, "age <= ?", filter.getMaxAge());
+        condition(conditions, parameters, "salary >= ?", filter.getMinSalary());
+        condition(conditions, parameters, "salary <= ?", filter.getMaxSalary());
+        condition(conditions, parameters, "created_at >= ?", filter.getCreatedFrom());
+        condition(conditions, parameters, "created_at < ?", filter.getCreatedTo());
+        condition(conditions, parameters, "updated_at >= ?", filter.getUpdatedFrom());
+        condition(conditions, parameters, "updated_at < ?", filter.getUpdatedTo());
+        return String.join(" and ", conditions);
+    }
+
+    private static void condition(List<String> conditions, List<Object> parameters, String condition, Object value) {
+        if (value != null) {
+            conditions.add(condition);
+            parameters.add(value);
+        }
+    }
+
+    private Query nativeQuery(String sql, List<Object> parameters) {
+        return bind(entityManager.createNativeQuery(sql, Tuple.class), parameters);
+    }
+
+    private static Query bind(Query query, List<Object> parameters) {
+        for (int i = 0; i < parameters.size(); i++) {
+            query.setParameter(i + 1, parameters.get(i));
+        }
+        return query;
+    }
+
+    private static Employee previousRow(Query query) {
+        List<Employee> rows = previousRows(query);
+        return rows.isEmpty() ? null : rows.get(0);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<Employee> previousRows(Query query) {
+        List<Tuple> rows = query.getResultList();
+        List<Employee> employees = new ArrayList<>(rows.size());
+        for (Tuple row : rows) {
+            employees.add(toEmployee(row));
+        }
+        return employees;
+    }
+
+    private static Employee toEmployee(Tuple row) {
+        return new Employee(
+                row.get(0, Number.class).longValue(),
+                row.get(1, String.class),
+                row.get(2, String.class),
+                row.get(3, Number.class).intValue(),
+                row.get(4, String.class),
+                row.get(5, BigDecimal.class),
+                toLocalDateTime(row.get(6)),
+                toLocalDateTime(row.get(7)));
+    }
+
+    private static LocalDateTime toLocalDateTime(Object value) {
+        if (value instanceof Timestamp timestamp) {
+            return timestamp.toLocalDateTime();
+        }
+        return (LocalDateTime) value;
+    }
+
+    // requested fields plus id and any field the caller needs internally, whitelisted since they end up in the JPQL
+    private static Collection<String> withFields(Collection<String> fields, String... required) {
+        Set<String> selected = new LinkedHashSet<>();
+        selected.add("id");
+        selected.addAll(fields);
+        selected.addAll(List.of(required));
+        for (String field : selected) {
+            if (!PROJECTABLE_FIELDS.contains(field)) {
+                throw new IllegalArgumentException("Unsupported field: " + field);
+            }
+        }
+        return selected;
+    }
+
+    private static String selectClause(Collection<String> selected) {
+        if (selected == null) {
+            return "select e";
+        }
+        StringBuilder select = new StringBuilder("select ");
+        String separator = "";
+        for (String field : selected) {
+            select.append(separator).append("e.").append(field).append(" as ").append(field);
+            separator = ", ";
+        }
+        return select.toString();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<Employee> results(TypedQuery<?> query, Collection<String> selected) {
+        if (selected == null) {
+            return (List<Employee>) query.getResultList();
+        }
+        List<Tuple> tuples = (List<Tuple>) query.getResultList();
+        List<Employee> employees = new ArrayList<>(tuples.size());
+        for (Tuple tuple : tuples) {
+            employees.add(toEmployee(tuple, selected));
+        }
+        return employees;
+    }
+
+    private static Employee toEmployee(Tuple tuple, Collection<String> selected) {
+        Employee employee = new Employee();
+        for (String field : selected) {
+            Object value = tuple.get(field);
+            switch (field) {
+                case "id" -> employee.setId((Long) value);
+                case "name" -> employee.setName((String) value);
+                case "department" -> employee.setDepartment((String) value);
+                case "age" -> employee.setAge((Integer) value);
+                case "email" -> employee.setEmail((String) value);
+                case "salary" -> employee.setSalary((BigDecimal) value);
+                case "createdAt" -> employee.setCreatedAt((LocalDateTime) value);
+                case "updatedAt" -> employee.setUpdatedAt((LocalDateTime) value);
+                default -> throw new IllegalArgumentException("Unsupported field: " + field);
+            }
+        }
+        return employee;
+    }
+}
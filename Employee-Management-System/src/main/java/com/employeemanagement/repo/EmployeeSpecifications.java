@@ -0,0 +1,71 @@
+package com.employeemanagement.repo;
+
+import com.employeemanagement.dto.EmployeeFilter;
+import com.employeemanagement.model.Employee;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+// Specifications behind EmployeeFilter. Each one is a plain comparison on a single column so it can be
+// answered from the composite indexes in schema.sql: (department, salary, id), (department, age, id),
+// (age, id), (salary, id), (created_at, id) and (updated_at, id)
+public final class EmployeeSpecifications {
+
+    private EmployeeSpecifications() {
+    }
+
+    // null when the filter has no condition at all
+    public static Specification<Employee> matching(EmployeeFilter filter) {
+        if (filter == null || filter.isEmpty()) {
+            return null;
+        }
+
+        // department first, it is the leading column of the composite indexes
+        List<Specification<Employee>> specs = new ArrayList<>();
+        if (filter.getDepartment() != null && !filter.getDepartment().isEmpty()) {
+            specs.add(departmentIn(filter.getDepartment()));
+        }
+        if (filter.getMinAge() != null || filter.getMaxAge() != null) {
+            specs.add(between("age", filter.getMinAge(), filter.getMaxAge()));
+        }
+        if (filter.getMinSalary() != null || filter.getMaxSalary() != null) {
+            specs.add(between("salary", filter.getMinSalary(), filter.getMaxSalary()));
+        }
+        if (filter.getCreatedFrom() != null || filter.getCreatedTo() != null) {
+            specs.add(within("createdAt", filter.getCreatedFrom(), filter.getCreatedTo()));
+        }
+        if (filter.getUpdatedFrom() != null || filter.getUpdatedTo() != null) {
+            specs.add(within("updatedAt", filter.getUpdatedFrom(), filter.getUpdatedTo()));
+        }
+        return Specification.allOf(specs);
+    }
+
+    // equality for one department, IN for several
+    public static Specification<Employee> departmentIn(Collection<String> departments) {
+        return (root, query, cb) -> departments.size() == 1
+                ? cb.equal(root.get("department"), departments.iterator().next())
+                : root.get("department").in(departments);
+    }
+
+    // min <= field <= max, either bound may be null
+    public static <T extends Comparable<? super T>> Specification<Employee> between(String field, T min, T max) {
+        return (root, query, cb) -> {
+            if (min != null && max != null) {
+                return cb.between(root.get(field), min, max);
+            }
+            return min != null ? cb.greaterThanOrEqualTo(root.get(field), min) : cb.lessThanOrEqualTo(root.get(field), max);
+        };
+    }
+
+    // from <= field < to, either bound may be null
+    public static <T extends Comparable<? super T>> Specification<Employee> within(String field, T from, T to) {
+        return (root, query, cb) -> {
+            if (from != null && to != null) {
+                return cb.and(cb.greaterThanOrEqualTo(root.get(field), from), cb.lessThan(root.get(field), to));
+            }
+            return from != null ? cb.greaterThanOrEqualTo(root.get(field), from) : cb.lessThan(root.get(field), to);
+        };
+    }
+}
@@ -3,10 +3,13 @@ package com.employeemanagement.repo;
 import com.employeemanagement.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Optional;
 
 @Repository
 public interface UserRepo extends JpaRepository<User, Long> {
+    // read-only so the authentication lookup can be served by a replica
+    @Transactional(readOnly = true)
     Optional<User> findByEmail(String email);
 }
\ No newline at end of file
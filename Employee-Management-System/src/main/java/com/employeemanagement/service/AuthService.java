@@ -1,19 +1,39 @@
 package com.employeemanagement.service;
 
 
+import com.employeemanagement.config.CacheConfig;
 import com.employeemanagement.dto.LoginRequest;
+import com.employeemanagement.exceptionhandling.ServiceUnavailableException;
 import com.employeemanagement.exceptionhandling.UserAlreadyExistsException;
 import com.employeemanagement.model.User;
 import com.employeemanagement.repo.UserRepo;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
 
 @Service
 public class AuthService {
@@ -30,6 +50,46 @@ public class AuthService {
     @Autowired
     private AuthenticationManager authenticationManager;
 
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    // 0 means one thread per core, BCrypt is CPU bound so more threads do not help
+    @Value("${app.login.pool-size:0}")
+    private int loginPoolSize;
+
+    @Value("${app.login.queue-capacity:200}")
+    private int loginQueueCapacity;
+
+    @Value("${app.login.timeout:10s}")
+    private Duration loginTimeout;
+
+    // password hashing runs here instead of on Tomcat threads, so a login storm cannot starve other endpoints
+    private ThreadPoolExecutor loginExecutor;
+
+    @PostConstruct
+    public void startLoginExecutor() {
+        int threads = loginPoolSize > 0 ? loginPoolSize : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadNumber = new AtomicInteger();
+        ThreadFactory threadFactory = runnable -> {
+            Thread thread = new Thread(runnable, "login-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+        // bounded queue + AbortPolicy, a full queue is answered with 503 instead of piling up
+        loginExecutor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(loginQueueCapacity), threadFactory, new ThreadPoolExecutor.AbortPolicy());
+
+        // executor.active, executor.queued, executor.pool.size ... tagged name=login
+        ExecutorServiceMetrics.monitor(meterRegistry, loginExecutor, "login");
+    }
+
+    @PreDestroy
+    public void stopLoginExecutor() {
+        loginExecutor.shutdownNow();
+    }
+
+    // drop any cached principal for this email so the new account is picked up right away
+    @CacheEvict(value = CacheConfig.PRINCIPALS, key = "#user.email")
     public User registerUser(User user) throws UserAlreadyExistsException {
         if (userRepo.findByEmail(user.getEmail()).isPresent()) {
             throw new UserAlreadyExistsException("User with this email already exists.");
@@ -43,18 +103,56 @@ public class AuthService {
         return userRepo.save(user);
     }
 
-    public Map<String, String> loginUser(LoginRequest loginRequest) {
-        Map<String, String> tokenValue = new HashMap<>();
+    // the request thread only queues the hash: the future is completed on the login pool, so a login storm
+    // ties up neither Tomcat threads nor the connections they would hold
+    public CompletableFuture<Map<String, String>> loginUser(LoginRequest loginRequest) throws ServiceUnavailableException {
+        Timer.Sample sample = Timer.start(meterRegistry);
+
+        CompletableFuture<Authentication> login = new CompletableFuture<>();
+        try {
+            loginExecutor.execute(() -> {
+                // timed out while queued, nobody is waiting for the answer any more
+                if (login.isDone()) {
+                    return;
+                }
+                try {
+                    login.complete(authenticationManager.authenticate(
+                            new UsernamePasswordAuthenticationToken(loginRequest.getEmail(), loginRequest.getPassword())));
+                } catch (RuntimeException e) {
+                    login.completeExceptionally(e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            stopTimer(sample, "rejected");
+            throw new ServiceUnavailableException("Too many login attempts in progress, please retry shortly.");
+        }
 
-        Authentication authentication = authenticationManager.authenticate(
-                new UsernamePasswordAuthenticationToken(loginRequest.getEmail(), loginRequest.getPassword())
-        );
+        return login
+                .orTimeout(loginTimeout.toMillis(), TimeUnit.MILLISECONDS)
+                .thenApply(authentication -> {
+                    // After successful authentication, generate the JWT token
+                    Map<String, String> tokenValue = new HashMap<>();
+                    tokenValue.put("token", jwtService.generateToken(authentication.getName(), authentication.getAuthorities().toString()));
+                    return tokenValue;
+                })
+                .whenComplete((token, e) -> stopTimer(sample, e == null ? "success" : "failure"))
+                // bad credentials and friends reach GlobalExceptionHandler unchanged, MVC unwraps the CompletionException
+                .exceptionallyCompose(e -> CompletableFuture.failedFuture(loginFailure(e)));
+    }
 
-        // After successful authentication, generate the JWT token
-        String token = jwtService.generateToken(authentication.getName(), authentication.getAuthorities().toString());
+    private void stopTimer(Timer.Sample sample, String outcome) {
+        sample.stop(Timer.builder("auth.login")
+                .description("Login latency including time queued for a hashing thread")
+                .tag("outcome", outcome)
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry));
+    }
 
-        tokenValue.put("token", token);
-        return tokenValue;
+    private static Throwable loginFailure(Throwable e) {
+        Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+        if (cause instanceof TimeoutException) {
+            return new ServiceUnavailableException("Login is taking too long, please retry shortly.");
+        }
+        return cause;
     }
 }
-
@@ -0,0 +1,54 @@
+package com.employeemanagement.service;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.TreeMap;
+
+// hands out the updated_at / deleted_at stamps of employee writes. updated_at is taken before commit, so a long
+// transaction makes rows visible with a stamp well in the past; every stamp stays registered until its
+// transaction has completed, and the change feed never reads past the oldest one still in flight
+@Component
+public class ChangeClock {
+
+    // stamp -> number of open transactions holding it
+    private final TreeMap<LocalDateTime, Integer> inFlight = new TreeMap<>();
+
+    // call inside the write transaction, the stamp is released when it commits or rolls back
+    public LocalDateTime now() {
+        LocalDateTime now;
+        synchronized (this) {
+            now = LocalDateTime.now();
+            inFlight.merge(now, 1, Integer::sum);
+        }
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            release(now);
+            return now;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                release(now);
+            }
+        });
+        return now;
+    }
+
+    // rows stamped before this are committed, or never will be. The margin covers clock skew and writes of other
+    // instances, whose transactions this one does not see
+    public synchronized LocalDateTime settledBefore(Duration margin) {
+        LocalDateTime until = LocalDateTime.now().minus(margin);
+        if (!inFlight.isEmpty() && inFlight.firstKey().isBefore(until)) {
+            return inFlight.firstKey();
+        }
+        return until;
+    }
+
+    private synchronized void release(LocalDateTime stamp) {
+        inFlight.computeIfPresent(stamp, (s, count) -> count == 1 ? null : count - 1);
+    }
+}
@@ -0,0 +1,41 @@
+package com.employeemanagement.service;
+
+import com.employeemanagement.exceptionhandling.InvalidCursorException;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+// opaque change feed position: the last (updatedAt, id) of changed employees and (deletedAt, id) of tombstones seen
+@Getter
+@AllArgsConstructor
+public class ChangeCursor {
+
+    private static final String VERSION = "c1";
+
+    private LocalDateTime updatedAt;
+    private Long id;
+    private LocalDateTime deletedAt;
+    private Long deletedId;
+
+    public String encode() {
+        String raw = VERSION + ";" + updatedAt + ";" + id + ";" + deletedAt + ";" + deletedId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static ChangeCursor decode(String cursor) throws InvalidCursorException {
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split(";", 5);
+            if (parts.length != 5 || !parts[0].equals(VERSION)) {
+                throw new InvalidCursorException("Invalid cursor.");
+            }
+            return new ChangeCursor(LocalDateTime.parse(parts[1]), Long.valueOf(parts[2]),
+                    LocalDateTime.parse(parts[3]), Long.valueOf(parts[4]));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new InvalidCursorException("Invalid cursor.");
+        }
+    }
+}
@@ -1,22 +1,28 @@
 package com.employeemanagement.service;
 
+import com.employeemanagement.config.CacheConfig;
 import com.employeemanagement.model.User;
 import com.employeemanagement.repo.UserRepo;
 
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 
 @Service
-public class CustomUserDetailsService implements UserDetailsService {
+public class CustomUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
 
     @Autowired
     private UserRepo userRepo;
 
+    // cached so JwtFilter does not hit the users table on every request, see CacheConfig
     @Override
+    @Cacheable(CacheConfig.PRINCIPALS)
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
 
         User user = userRepo.findByEmail(username)
@@ -25,4 +31,17 @@ public class CustomUserDetailsService implements UserDetailsService {
         return user;
 
     }
+
+    // called by DaoAuthenticationProvider after a successful login whose hash needs a new cost
+    @Override
+    @CacheEvict(value = CacheConfig.PRINCIPALS, key = "#user.username")
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+
+        User stored = userRepo.findByEmail(user.getUsername())
+                .orElseThrow(() -> new UsernameNotFoundException("User not found"));
+        stored.setPassword(newPassword);
+
+        return userRepo.save(stored);
+
+    }
 }
@@ -0,0 +1,92 @@
+package com.employeemanagement.service;
+
+import com.employeemanagement.dto.EmployeeChanges;
+import com.employeemanagement.dto.TombstoneRow;
+import com.employeemanagement.exceptionhandling.ChangeCursorExpiredException;
+import com.employeemanagement.exceptionhandling.InvalidCursorException;
+import com.employeemanagement.model.Employee;
+import com.employeemanagement.repo.EmployeeRepo;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+// delta sync for downstream systems: employees changed since a cursor, from the (updated_at, id) index, plus
+// the ids deleted since then, from the tombstones deleteEmployeeById leaves behind
+@Service
+public class EmployeeChangeFeedService {
+
+    private static final Logger log = LoggerFactory.getLogger(EmployeeChangeFeedService.class);
+
+    // before any employee was written, the position of a full sync
+    private static final LocalDateTime BEGINNING = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    @Autowired
+    private EmployeeRepo repo;
+
+    @Autowired
+    private ChangeClock changeClock;
+
+    // updated_at is stamped before commit, so a row can become visible with a timestamp in the past. Writes of this
+    // instance are held back by ChangeClock until they complete; this window only has to cover clock skew and
+    // the longest write transaction of any other instance writing to the same database
+    @Value("${app.employees.changes.settle-window:2s}")
+    private Duration settleWindow;
+
+    // tombstones are kept this long, older cursors must sync from scratch
+    @Value("${app.employees.changes.tombstone-retention:7d}")
+    private Duration tombstoneRetention;
+
+    // deliberately not a read-only transaction: it would be routed to a replica, and a lagging replica could
+    // hide rows the cursor then moves past for good
+    public EmployeeChanges getChanges(String since, int limit) throws InvalidCursorException, ChangeCursorExpiredException {
+        LocalDateTime until = changeClock.settledBefore(settleWindow);
+
+        // without a cursor everything is a change, and deletes only matter from now on
+        ChangeCursor cursor = since == null
+                ? new ChangeCursor(BEGINNING, 0L, until, 0L)
+                : ChangeCursor.decode(since);
+        if (cursor.getDeletedAt().isBefore(LocalDateTime.now().minus(tombstoneRetention))) {
+            throw new ChangeCursorExpiredException("Cursor is older than the tombstone retention, sync again without since.");
+        }
+
+        List<Employee> changed = repo.findChangedAfter(cursor.getUpdatedAt(), cursor.getId(), until, Limit.of(limit));
+        List<TombstoneRow> tombstones = repo.findTombstonesAfter(cursor.getDeletedAt(), cursor.getDeletedId(), until, limit);
+
+        LocalDateTime updatedAt = cursor.getUpdatedAt();
+        Long id = cursor.getId();
+        if (!changed.isEmpty()) {
+            Employee last = changed.get(changed.size() - 1);
+            updatedAt = last.getUpdatedAt();
+            id = last.getId();
+        }
+        LocalDateTime deletedAt = cursor.getDeletedAt();
+        Long deletedId = cursor.getDeletedId();
+        if (!tombstones.isEmpty()) {
+            TombstoneRow last = tombstones.get(tombstones.size() - 1);
+            deletedAt = last.getDeletedAt();
+            deletedId = last.getEmployeeId();
+        }
+
+        List<Long> deleted = tombstones.stream().map(TombstoneRow::getEmployeeId).toList();
+        boolean hasMore = changed.size() == limit || tombstones.size() == limit;
+        return new EmployeeChanges(changed, deleted, new ChangeCursor(updatedAt, id, deletedAt, deletedId).encode(), hasMore);
+    }
+
+    @Scheduled(fixedDelayString = "${app.employees.changes.tombstone-purge-interval:1h}")
+    @Transactional
+    public void purgeTombstones() {
+        int purged = repo.deleteTombstonesBefore(LocalDateTime.now().minus(tombstoneRetention));
+        if (purged > 0) {
+            log.debug("Purged {} employee tombstones", purged);
+        }
+    }
+}
@@ -0,0 +1,182 @@
+package com.employeemanagement.service;
+
+import com.employeemanagement.dto.EmployeeBulkChange;
+import com.employeemanagement.dto.EmployeeChange;
+import com.employeemanagement.event.EmployeeBulkChangedEvent;
+import com.employeemanagement.event.EmployeeChangedEvent;
+import com.employeemanagement.exceptionhandling.ServiceUnavailableException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter.SseEventBuilder;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// server-sent events for committed employee changes. The committing thread only offers the event to each
+// subscriber's bounded queue; sending happens on a virtual thread per busy subscriber, so a stalled client
+// blocks nothing but its own sender. A subscriber whose queue overflows is disconnected and can catch up
+// through GET /api/employees/changes
+@Service
+public class EmployeeChangeStream {
+
+    private static final Logger log = LoggerFactory.getLogger(EmployeeChangeStream.class);
+
+    @Value("${app.employees.changes.stream.buffer-size:256}")
+    private int bufferSize;
+
+    @Value("${app.employees.changes.stream.max-subscribers:1000}")
+    private int maxSubscribers;
+
+    @Value("${app.employees.changes.stream.timeout:30m}")
+    private Duration timeout;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+
+    private final ExecutorService senders = Executors.newVirtualThreadPerTaskExecutor();
+
+    public SseEmitter subscribe() throws ServiceUnavailableException {
+        if (subscribers.size() >= maxSubscribers) {
+            throw new ServiceUnavailableException("Too many change stream subscribers.");
+        }
+
+        SseEmitter emitter = new SseEmitter(timeout.toMillis());
+        Subscriber subscriber = new Subscriber(emitter, new ArrayBlockingQueue<>(bufferSize));
+        emitter.onCompletion(() -> close(subscriber));
+        emitter.onTimeout(() -> close(subscriber));
+        emitter.onError(e -> close(subscriber));
+        subscribers.add(subscriber);
+
+        // flushes the response headers right away
+        enqueue(subscriber, SseEmitter.event().comment("connected"));
+        return emitter;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEmployeeChanged(EmployeeChangedEvent event) throws JsonProcessingException {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+
+        // serialized once for all subscribers
+        String type = event.getType().name().toLowerCase(Locale.ROOT);
+        String json = objectMapper.writeValueAsString(new EmployeeChange(type, event.getEmployeeId(), event.getAfter()));
+        for (Subscriber subscriber : subscribers) {
+            enqueue(subscriber, SseEmitter.event().name(type).data(json, MediaType.APPLICATION_JSON));
+        }
+    }
+
+    // a bulk write is one event per subscriber, named bulk-created, bulk-updated or bulk-deleted. One per row
+    // would overflow the queue of every subscriber and disconnect them all
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEmployeesChanged(EmployeeBulkChangedEvent event) throws JsonProcessingException {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+
+        String type = event.getType().name().toLowerCase(Locale.ROOT);
+        List<Long> ids = event.getEmployeeIds();
+        String json = objectMapper.writeValueAsString(new EmployeeBulkChange(type, ids.size(), ids));
+        for (Subscriber subscriber : subscribers) {
+            enqueue(subscriber, SseEmitter.event().name("bulk-" + type).data(json, MediaType.APPLICATION_JSON));
+        }
+    }
+
+    // keeps proxies from closing idle streams and finds clients that went away
+    @Scheduled(fixedDelayString = "${app.employees.changes.stream.heartbeat-interval:15s}")
+    public void heartbeat() {
+        for (Subscriber subscriber : subscribers) {
+            enqueue(subscriber, SseEmitter.event().comment("heartbeat"));
+        }
+    }
+
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        for (Subscriber subscriber : subscribers) {
+            disconnect(subscriber);
+        }
+        senders.shutdown();
+    }
+
+    private void enqueue(Subscriber subscriber, SseEventBuilder event) {
+        if (subscriber.closed) {
+            return;
+        }
+        if (!subscriber.queue.offer(event)) {
+            log.info("Disconnecting change stream subscriber, {} events behind", bufferSize);
+            disconnect(subscriber);
+            return;
+        }
+        if (subscriber.draining.compareAndSet(false, true)) {
+            senders.execute(() -> drain(subscriber));
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        try {
+            SseEventBuilder event;
+            while (!subscriber.closed && (event = subscriber.queue.poll()) != null) {
+                subscriber.emitter.send(event);
+            }
+        } catch (IOException | IllegalStateException e) {
+            // client went away or the emitter already completed
+            close(subscriber);
+        } finally {
+            subscriber.draining.set(false);
+        }
+        // an event may have been queued after the last poll but before draining was reset
+        if (!subscriber.closed && !subscriber.queue.isEmpty() && subscriber.draining.compareAndSet(false, true)) {
+            senders.execute(() -> drain(subscriber));
+        }
+    }
+
+    // completing can block behind a send stuck on the slow client, so it never runs on the caller's thread
+    private void disconnect(Subscriber subscriber) {
+        close(subscriber);
+        senders.execute(subscriber.emitter::complete);
+    }
+
+    // drop the subscriber and whatever it still had queued
+    private void close(Subscriber subscriber) {
+        subscriber.closed = true;
+        subscribers.remove(subscriber);
+        subscriber.queue.clear();
+    }
+
+    private static final class Subscriber {
+        private final SseEmitter emitter;
+        private final BlockingQueue<SseEventBuilder> queue;
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private volatile boolean closed;
+
+        private Subscriber(SseEmitter emitter, BlockingQueue<SseEventBuilder> queue) {
+            this.emitter = emitter;
+            this.queue = queue;
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.employeemanagement.service;
+
+import com.employeemanagement.exceptionhandling.InvalidCursorException;
+import com.employeemanagement.model.Employee;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+// opaque keyset cursor: the sort it was issued for, the paging direction and the last (sortValue, id) seen
+@Getter
+@AllArgsConstructor
+public class EmployeeCursor {
+
+    private static final String VERSION = "v1";
+
+    private String sort;
+    private boolean forward;
+    private Object value;
+    private Long id;
+
+    public static EmployeeCursor of(Employee employee, String sort, boolean forward) {
+        String sortField = sort.split(",")[0];
+        return new EmployeeCursor(sort, forward, sortValue(employee, sortField), employee.getId());
+    }
+
+    public String encode() {
+        String raw = VERSION + ";" + sort + ";" + (forward ? "n" : "p") + ";" + id + ";"
+                + (value == null ? "-" : "=" + value);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static EmployeeCursor decode(String cursor, String sort) throws InvalidCursorException {
+        String[] parts;
+        try {
+            parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split(";", 5);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidCursorException("Invalid cursor.");
+        }
+
+        if (parts.length != 5 || !parts[0].equals(VERSION)) {
+            throw new InvalidCursorException("Invalid cursor.");
+        }
+        if (!parts[1].equals(sort)) {
+            throw new InvalidCursorException("Cursor was issued for sort=" + parts[1] + ", not sort=" + sort);
+        }
+
+        try {
+            boolean forward = parts[2].equals("n");
+            Long id = Long.valueOf(parts[3]);
+            Object value = parts[4].startsWith("=") ? parseValue(sort.split(",")[0], parts[4].substring(1)) : null;
+            return new EmployeeCursor(sort, forward, value, id);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidCursorException("Invalid cursor.");
+        }
+    }
+
+    private static Object sortValue(Employee employee, String sortField) {
+        return switch (sortField) {
+            case "id" -> employee.getId();
+            case "name" -> employee.getName();
+            case "department" -> employee.getDepartment();
+            case "age" -> employee.getAge();
+            case "salary" -> employee.getSalary();
+            default -> throw new IllegalArgumentException("Unsupported sort field: " + sortField);
+        };
+    }
+
+    private static Object parseValue(String sortField, String raw) {
+        return switch (sortField) {
+            case "id" -> Long.valueOf(raw);
+            case "age" -> Integer.valueOf(raw);
+            case "salary" -> new BigDecimal(raw);
+            default -> raw;
+        };
+    }
+}
@@ -0,0 +1,110 @@
+package com.employeemanagement.service;
+
+import com.employeemanagement.model.Employee;
+import com.employeemanagement.repo.EmployeeRepo;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.util.MinimalPrettyPrinter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+@Service
+public class EmployeeExportService {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    // same pattern as the @JsonFormat on Employee timestamps
+    private static final DateTimeFormatter TIMESTAMP_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    @Autowired
+    private EmployeeRepo repo;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    //write every employee as one JSON object per line
+    @Transactional(readOnly = true)
+    public void exportAsNdjson(OutputStream out) throws IOException {
+        ObjectWriter writer = objectMapper.writerFor(Employee.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+
+        try (Stream<Employee> employees = repo.streamAllBy();
+             JsonGenerator generator = objectMapper.getFactory().createGenerator(new BufferedOutputStream(out, BUFFER_SIZE))) {
+            generator.setPrettyPrinter(new MinimalPrettyPrinter("\n"));
+
+            Iterator<Employee> rows = employees.iterator();
+            while (rows.hasNext()) {
+                Employee employee = rows.next();
+                writer.writeValue(generator, employee);
+                // keep the persistence context empty so heap stays flat however many rows there are
+                entityManager.detach(employee);
+            }
+            generator.writeRaw('\n');
+        }
+    }
+
+    //write every employee as a CSV row with a header line
+    @Transactional(readOnly = true)
+    public void exportAsCsv(OutputStream out) throws IOException {
+        try (Stream<Employee> employees = repo.streamAllBy();
+             Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE)) {
+            writer.write("id,name,department,age,email,salary,createdAt,updatedAt\n");
+
+            Iterator<Employee> rows = employees.iterator();
+            while (rows.hasNext()) {
+                Employee employee = rows.next();
+                writer.write(String.valueOf(employee.getId()));
+                writer.write(',');
+                writer.write(csvField(employee.getName()));
+                writer.write(',');
+                writer.write(csvField(employee.getDepartment()));
+                writer.write(',');
+                writer.write(String.valueOf(employee.getAge()));
+                writer.write(',');
+                writer.write(csvField(employee.getEmail()));
+                writer.write(',');
+                writer.write(employee.getSalary() == null ? "" : employee.getSalary().toPlainString());
+                writer.write(',');
+                writer.write(formatTimestamp(employee.getCreatedAt()));
+                writer.write(',');
+                writer.write(formatTimestamp(employee.getUpdatedAt()));
+                writer.write('\n');
+                entityManager.detach(employee);
+            }
+        }
+    }
+
+    private static String csvField(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return "\"" + value.replace("\"", "\"\"") + "\"";
+    }
+
+    private static String formatTimestamp(LocalDateTime value) {
+        return value == null ? "" : TIMESTAMP_FORMAT.format(value);
+    }
+}
@@ -0,0 +1,62 @@
+package com.employeemanagement.service;
+
+import com.employeemanagement.model.Employee;
+
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+
+// sparse fieldsets (?fields=id,name,department): parsing and turning partially loaded employees into
+// maps holding only the requested fields, in the requested order
+public final class EmployeeFields {
+
+    private static final String FIELD = "(id|name|department|age|email|salary|createdAt|updatedAt)";
+
+    // for @Pattern on the fields request parameter
+    public static final String PATTERN = "^" + FIELD + "(," + FIELD + ")*$";
+
+    public static final String PATTERN_MESSAGE = "Invalid fields. Use a comma separated list of id, name, department, age, email, salary, createdAt, updatedAt";
+
+    // same format as the @JsonFormat on Employee
+    private static final DateTimeFormatter TIMESTAMP = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private EmployeeFields() {
+    }
+
+    // null for no fields parameter, i.e. the full employee
+    public static List<String> parse(String fields) {
+        if (fields == null || fields.isBlank()) {
+            return null;
+        }
+        return List.copyOf(new LinkedHashSet<>(List.of(fields.split(","))));
+    }
+
+    public static Map<String, Object> toMap(Employee employee, List<String> fields) {
+        Map<String, Object> map = new LinkedHashMap<>();
+        for (String field : fields) {
+            map.put(field, switch (field) {
+                case "id" -> employee.getId();
+                case "name" -> employee.getName();
+                case "department" -> employee.getDepartment();
+                case "age" -> employee.getAge();
+                case "email" -> employee.getEmail();
+                case "salary" -> employee.getSalary();
+                case "createdAt" -> employee.getCreatedAt() == null ? null : TIMESTAMP.format(employee.getCreatedAt());
+                case "updatedAt" -> employee.getUpdatedAt() == null ? null : TIMESTAMP.format(employee.getUpdatedAt());
+                default -> throw new IllegalArgumentException("Unknown employee field: " + field);
+            });
+        }
+        return map;
+    }
+
+    public static List<Map<String, Object>> toMaps(List<Employee> employees, List<String> fields) {
+        List<Map<String, Object>> maps = new ArrayList<>(employees.size());
+        for (Employee employee : employees) {
+            maps.add(toMap(employee, fields));
+        }
+        return maps;
+    }
+}
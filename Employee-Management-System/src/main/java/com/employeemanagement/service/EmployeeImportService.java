@@ -0,0 +1,297 @@
+package com.employeemanagement.service;
+
+import com.employeemanagement.dto.BulkImportResult;
+import com.employeemanagement.event.EmployeeBulkChangedEvent;
+import com.employeemanagement.event.EmployeeChangedEvent;
+import com.employeemanagement.model.Employee;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.hibernate.Session;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@Service
+public class EmployeeImportService {
+
+    // keep the response small even when a whole upload is rejected
+    private static final int MAX_REPORTED_ERRORS = 1000;
+
+    private static final List<String> CSV_COLUMNS = List.of("name", "department", "age", "email", "salary");
+
+    @Value("${app.employees.import.batch-size:100}")
+    private int batchSize;
+
+    @Value("${app.employees.import.chunk-size:1000}")
+    private int chunkSize;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private ChangeClock changeClock;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    //import a JSON array (or newline delimited objects) of employees, read one element at a time
+    public BulkImportResult importJson(InputStream in) throws IOException {
+        BulkImportResult result = new BulkImportResult();
+        List<PendingRow> chunk = new ArrayList<>(chunkSize);
+        int row = 0;
+        // false while between elements, the parser may fail before or after the next one was counted
+        boolean rowCounted = false;
+
+        try (MappingIterator<Employee> rows = objectMapper.readerFor(Employee.class).readValues(in)) {
+            while (rows.hasNextValue()) {
+                row++;
+                result.setReceived(result.getReceived() + 1);
+                rowCounted = true;
+                Employee employee;
+                try {
+                    employee = rows.nextValue();
+                } catch (JsonMappingException e) {
+                    // wrong type in one element, the iterator skips to the next one
+                    reject(result, row, "Invalid row. " + e.getOriginalMessage());
+                    rowCounted = false;
+                    continue;
+                }
+                accept(result, chunk, row, employee);
+                rowCounted = false;
+            }
+        } catch (JsonParseException e) {
+            // broken JSON, nothing after this point can be trusted. The element it broke in counts as failed,
+            // so received is still imported + failed
+            if (!rowCounted) {
+                row++;
+                result.setReceived(result.getReceived() + 1);
+            }
+            reject(result, row, "Malformed JSON, import stopped. " + e.getOriginalMessage());
+            result.setPartial(true);
+        }
+
+        insertChunk(result, chunk);
+        return result;
+    }
+
+    //import CSV with a header line naming the columns name, department, age, email, salary
+    public BulkImportResult importCsv(InputStream in) throws IOException {
+        BulkImportResult result = new BulkImportResult();
+        List<PendingRow> chunk = new ArrayList<>(chunkSize);
+
+        try (Reader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+            List<String> header = readCsvRecord(reader);
+            if (header == null) {
+                return result;
+            }
+
+            Map<String, Integer> columns = new HashMap<>();
+            for (int i = 0; i < header.size(); i++) {
+                columns.put(header.get(i).trim().toLowerCase(Locale.ROOT), i);
+            }
+            for (String column : CSV_COLUMNS) {
+                if (!columns.containsKey(column)) {
+                    // stopped before the first row, like malformed JSON
+                    result.getErrors().add(new BulkImportResult.RowError(0, "Missing CSV column: " + column));
+                    result.setPartial(true);
+                    return result;
+                }
+            }
+
+            int row = 0;
+            List<String> record;
+            while ((record = readCsvRecord(reader)) != null) {
+                row++;
+                result.setReceived(result.getReceived() + 1);
+                Employee employee;
+                try {
+                    employee = new Employee();
+                    employee.setName(csvValue(record, columns.get("name")));
+                    employee.setDepartment(csvValue(record, columns.get("department")));
+                    employee.setAge(Integer.parseInt(csvValue(record, columns.get("age")).trim()));
+                    employee.setEmail(csvValue(record, columns.get("email")));
+                    String salary = csvValue(record, columns.get("salary"));
+                    employee.setSalary(salary.isBlank() ? null : new BigDecimal(salary.trim()));
+                } catch (NumberFormatException e) {
+                    reject(result, row, "Invalid row. age and salary must be numbers");
+                    continue;
+                }
+                accept(result, chunk, row, employee);
+            }
+        }
+
+        insertChunk(result, chunk);
+        return result;
+    }
+
+    private void accept(BulkImportResult result, List<PendingRow> chunk, int row, Employee employee) {
+        Set<ConstraintViolation<Employee>> violations = validator.validate(employee);
+        if (!violations.isEmpty()) {
+            String message = violations.stream()
+                    .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining(", "));
+            reject(result, row, message);
+            return;
+        }
+
+        employee.setId(null);
+        chunk.add(new PendingRow(row, employee));
+
+        if (chunk.size() >= chunkSize) {
+            insertChunk(result, chunk);
+        }
+    }
+
+    // one transaction per chunk, inserts go out in JDBC batches of batchSize
+    private void insertChunk(BulkImportResult result, List<PendingRow> chunk) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+
+        try {
+            // events are published inside the transaction like the service's writes, so the stats gate holds the
+            // chunk's commit (BEFORE_COMMIT) and the other listeners only see it once committed (AFTER_COMMIT)
+            transactionTemplate.executeWithoutResult(status -> {
+                persistAll(chunk);
+                // one event for the chunk, a chunk is larger than a change stream subscriber's queue
+                eventPublisher.publishEvent(new EmployeeBulkChangedEvent(EmployeeChangedEvent.Type.CREATED,
+                        chunk.stream().map(pending -> EmployeeChangedEvent.created(pending.employee)).toList()));
+            });
+            result.setImported(result.getImported() + chunk.size());
+        } catch (RuntimeException e) {
+            // a single bad row fails the whole chunk, retry one by one to find out which
+            for (PendingRow pending : chunk) {
+                pending.employee.setId(null);
+                try {
+                    transactionTemplate.executeWithoutResult(status -> {
+                        persistAll(List.of(pending));
+                        eventPublisher.publishEvent(EmployeeChangedEvent.created(pending.employee));
+                    });
+                    result.setImported(result.getImported() + 1);
+                } catch (RuntimeException rowError) {
+                    reject(result, pending.row, "Could not be saved. "
+                            + NestedExceptionUtils.getMostSpecificCause(rowError).getMessage());
+                }
+            }
+        }
+
+        chunk.clear();
+    }
+
+    private void persistAll(List<PendingRow> rows) {
+        entityManager.unwrap(Session.class).setJdbcBatchSize(batchSize);
+        // stamped in the chunk's transaction, not while parsing, so the change feed waits for the commit
+        LocalDateTime now = changeClock.now();
+        for (PendingRow pending : rows) {
+            pending.employee.setCreatedAt(now);
+            pending.employee.setUpdatedAt(now);
+            entityManager.persist(pending.employee);
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    private void reject(BulkImportResult result, int row, String message) {
+        result.setFailed(result.getFailed() + 1);
+        if (result.getErrors().size() < MAX_REPORTED_ERRORS) {
+            result.getErrors().add(new BulkImportResult.RowError(row, message));
+        }
+    }
+
+    private static String csvValue(List<String> record, int column) {
+        return column < record.size() ? record.get(column) : "";
+    }
+
+    // reads one RFC 4180 record, quoted fields may contain commas, quotes and line breaks; null at end of input
+    private static List<String> readCsvRecord(Reader reader) throws IOException {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        boolean any = false;
+        int c;
+
+        while ((c = reader.read()) != -1) {
+            any = true;
+            if (quoted) {
+                if (c == '"') {
+                    reader.mark(1);
+                    int next = reader.read();
+                    if (next == '"') {
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                        if (next != -1) {
+                            reader.reset();
+                        }
+                    }
+                } else {
+                    field.append((char) c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\n') {
+                if (fields.isEmpty() && field.isEmpty()) {
+                    // blank line
+                    continue;
+                }
+                break;
+            } else if (c != '\r') {
+                field.append((char) c);
+            }
+        }
+
+        if (!any || (c == -1 && fields.isEmpty() && field.isEmpty())) {
+            return null;
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    private static class PendingRow {
+        private final int row;
+        private final Employee employee;
+
+        private PendingRow(int row, Employee employee) {
+            this.row = row;
+            this.employee = employee;
+        }
+    }
+}
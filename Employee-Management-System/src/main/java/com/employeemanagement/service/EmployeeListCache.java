@@ -0,0 +1,106 @@
+package com.employeemanagement.service;
+
+import com.employeemanagement.config.CacheConfig;
+import com.employeemanagement.dto.CachedResponse;
+import com.employeemanagement.dto.EmployeeFilter;
+import com.employeemanagement.dto.ResponseObject;
+import com.employeemanagement.event.EmployeeBulkChangedEvent;
+import com.employeemanagement.event.EmployeeChangedEvent;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.nio.charset.StandardCharsets;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+// serialized GET /api/employees pages keyed by (write generation, page, size, sort, fields, filter, format).
+// every employee change bumps the generation, which makes all older keys unreachable at once;
+// they are never invalidated one by one, the size bound and TTL age them out
+@Component
+public class EmployeeListCache {
+
+    private final AtomicLong writeGeneration = new AtomicLong();
+
+    // the generation restarts at 0 with every JVM, so on its own "g3" from before a restart or from another
+    // instance would match a different set of rows. The random per-boot epoch keeps those ETags apart
+    private final String epoch = Long.toString(new SecureRandom().nextLong() & Long.MAX_VALUE, 36);
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private ResponseSerializer serializer;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private CaffeineCache cache;
+
+    @PostConstruct
+    public void init() {
+        cache = (CaffeineCache) cacheManager.getCache(CacheConfig.EMPLOYEE_PAGES);
+
+        // hit ratio comes from cache.gets{cache=employeePages}, this is the memory side
+        Gauge.builder("cache.employee.pages.bytes", cache,
+                        c -> c.getNativeCache().policy().eviction().map(e -> e.weightedSize().orElse(0L)).orElse(0L))
+                .description("Serialized bytes held by the employee list page cache")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    public long generation() {
+        return writeGeneration.get();
+    }
+
+    // fields is the parsed ?fields= list, null for full employees; filter may be null or empty.
+    // Weak, see EmployeeResponseCache.etag
+    public String etag(long generation, int page, int size, String sort, List<String> fields, EmployeeFilter filter, ResponseFormat format) {
+        return "W/\"" + epoch + "-g" + generation + "-" + page + "-" + size + "-" + sort + variant(fields, filter) + format.getEtagSuffix() + "\"";
+    }
+
+    public CachedResponse get(long generation, int page, int size, String sort, List<String> fields, EmployeeFilter filter, ResponseFormat format) {
+        return cache.get(key(generation, page, size, sort, fields, filter, format), CachedResponse.class);
+    }
+
+    // generation must be the value read before the page was queried
+    public CachedResponse put(long generation, int page, int size, String sort, List<String> fields, EmployeeFilter filter,
+                              ResponseFormat format, List<?> employees) throws JsonProcessingException {
+        ResponseObject<List<?>> response = new ResponseObject<>(true, 200, "Successful Request", employees);
+        CachedResponse cached = new CachedResponse(etag(generation, page, size, sort, fields, filter, format),
+                serializer.serialize(format, response));
+        cache.put(key(generation, page, size, sort, fields, filter, format), cached);
+        return cached;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEmployeeChanged(EmployeeChangedEvent event) {
+        writeGeneration.incrementAndGet();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEmployeesChanged(EmployeeBulkChangedEvent event) {
+        writeGeneration.incrementAndGet();
+    }
+
+    private static String key(long generation, int page, int size, String sort, List<String> fields, EmployeeFilter filter, ResponseFormat format) {
+        return generation + "|" + page + "|" + size + "|" + sort + variant(fields, filter) + format.getEtagSuffix();
+    }
+
+    // empty for the plain listing. The filter is base64url encoded so the result stays a valid ETag
+    private static String variant(List<String> fields, EmployeeFilter filter) {
+        String variant = fields == null ? "" : "-" + String.join(".", fields);
+        if (filter != null && !filter.isEmpty()) {
+            variant += "-" + Base64.getUrlEncoder().withoutPadding().encodeToString(filter.toString().getBytes(StandardCharsets.UTF_8));
+        }
+        return variant;
+    }
+}
@@ -0,0 +1,96 @@
+package com.employeemanagement.service;
+
+import com.employeemanagement.config.CacheConfig;
+import com.employeemanagement.dto.CachedResponse;
+import com.employeemanagement.dto.ResponseObject;
+import com.employeemanagement.event.EmployeeBulkChangedEvent;
+import com.employeemanagement.event.EmployeeChangedEvent;
+import com.employeemanagement.model.Employee;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.concurrent.atomic.AtomicLong;
+
+// serialized GET /api/employees/{id} responses, so repeat reads skip the query and Jackson.
+// keyed by id and format, each format is serialized on its first request
+@Component
+public class EmployeeResponseCache {
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private ResponseSerializer serializer;
+
+    private Cache cache;
+
+    // bumped on every invalidation, lets a reader that loaded before it drop what it just cached
+    private final AtomicLong invalidations = new AtomicLong();
+
+    @PostConstruct
+    public void init() {
+        cache = cacheManager.getCache(CacheConfig.EMPLOYEE_RESPONSES);
+    }
+
+    public CachedResponse get(Long id, ResponseFormat format) {
+        return cache.get(key(id, format), CachedResponse.class);
+    }
+
+    public long generation() {
+        return invalidations.get();
+    }
+
+    // serialize once and keep the bytes; generation is the value read before the employee was loaded
+    public CachedResponse put(Employee employee, ResponseFormat format, long generation) throws JsonProcessingException {
+        ResponseObject<Employee> response = new ResponseObject<>(true, 200, "Successful Request", employee);
+        CachedResponse cached = new CachedResponse(etag(employee, format), serializer.serialize(format, response));
+
+        cache.put(key(employee.getId(), format), cached);
+        if (invalidations.get() != generation) {
+            // the employee changed while we were loading it, what we cached may already be stale
+            cache.evict(key(employee.getId(), format));
+        }
+        return cached;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEmployeeChanged(EmployeeChangedEvent event) {
+        invalidations.incrementAndGet();
+        evict(event.getEmployeeId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEmployeesChanged(EmployeeBulkChangedEvent event) {
+        invalidations.incrementAndGet();
+        for (Long id : event.getEmployeeIds()) {
+            evict(id);
+        }
+    }
+
+    private void evict(Long id) {
+        for (ResponseFormat format : ResponseFormat.values()) {
+            cache.evict(key(id, format));
+        }
+    }
+
+    private static String key(Long id, ResponseFormat format) {
+        return id + format.getEtagSuffix();
+    }
+
+    // weak ETag from id + updatedAt, every write path moves updatedAt. Weak because Tomcat does not gzip a
+    // response with a strong one: the compressed bytes would no longer be the ones the tag names
+    public static String etag(Employee employee, ResponseFormat format) {
+        LocalDateTime updatedAt = employee.getUpdatedAt();
+        // microseconds, the precision the TIMESTAMP column keeps
+        long version = updatedAt == null ? 0
+                : updatedAt.toEpochSecond(ZoneOffset.UTC) * 1_000_000 + updatedAt.getNano() / 1_000;
+        return "W/\"" + employee.getId() + "-" + Long.toHexString(version) + format.getEtagSuffix() + "\"";
+    }
+}
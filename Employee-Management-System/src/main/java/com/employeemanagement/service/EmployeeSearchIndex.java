@@ -0,0 +1,359 @@
+package com.employeemanagement.service;
+
+import com.employeemanagement.event.EmployeeBulkChangedEvent;
+import com.employeemanagement.event.EmployeeChangedEvent;
+import com.employeemanagement.model.Employee;
+import com.employeemanagement.repo.EmployeeRepo;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+// in-memory trigram inverted index over employee name, department and email.
+// posting lists are sorted primitive long[] of employee ids, candidates from the trigram
+// intersection are verified with a plain substring check so results match the old LIKE %q% search
+@Component
+public class EmployeeSearchIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(EmployeeSearchIndex.class);
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // employee id -> lowercased name, department, email
+    private Map<Long, String[]> documents = new HashMap<>();
+
+    // packed trigram -> ids of employees having it in any field
+    private Map<Long, PostingList> postings = new HashMap<>();
+
+    // changes that arrive while a rebuild is streaming the table, replayed once it is swapped in
+    private List<EmployeeChangedEvent> pendingChanges;
+
+    private volatile boolean ready;
+
+    @Autowired
+    private EmployeeRepo repo;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            pendingChanges = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        Map<Long, String[]> newDocuments = new HashMap<>();
+        Map<Long, PostingList> newPostings = new HashMap<>();
+        transactionTemplate.executeWithoutResult(status -> {
+            try (Stream<Employee> employees = repo.streamAllBy()) {
+                employees.forEach(employee -> {
+                    add(newDocuments, newPostings, employee);
+                    entityManager.detach(employee);
+                });
+            }
+        });
+
+        lock.writeLock().lock();
+        try {
+            documents = newDocuments;
+            postings = newPostings;
+            for (EmployeeChangedEvent change : pendingChanges) {
+                apply(change);
+            }
+            pendingChanges = null;
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Employee search index built with {} employees and {} trigrams", newDocuments.size(), newPostings.size());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEmployeeChanged(EmployeeChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            if (pendingChanges != null) {
+                pendingChanges.add(event);
+            }
+            apply(event);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // the whole batch under one lock acquisition
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEmployeesChanged(EmployeeBulkChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            for (EmployeeChangedEvent change : event.getChanges()) {
+                if (pendingChanges != null) {
+                    pendingChanges.add(change);
+                }
+                apply(change);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // ids of the best matching employees, best first
+    public List<Long> search(String query, int limit) {
+        String q = normalize(query);
+        PriorityQueue<Match> best = new PriorityQueue<>(Match.WORST_FIRST);
+
+        lock.readLock().lock();
+        try {
+            if (q.length() < 3) {
+                // too short for a trigram, a scan over the in-memory documents is still cheaper than the table
+                for (Map.Entry<Long, String[]> document : documents.entrySet()) {
+                    offer(best, limit, document.getKey(), document.getValue(), q);
+                }
+            } else {
+                long[] candidates = candidates(q);
+                for (long id : candidates) {
+                    offer(best, limit, id, documents.get(id), q);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        return bestFirst(best);
+    }
+
+    // the same matching and ranking as search over rows loaded elsewhere, for when the index is not ready yet
+    public static List<Long> rank(Iterable<Employee> employees, String query, int limit) {
+        String q = normalize(query);
+        PriorityQueue<Match> best = new PriorityQueue<>(Match.WORST_FIRST);
+        for (Employee employee : employees) {
+            offer(best, limit, employee.getId(), document(employee), q);
+        }
+        return bestFirst(best);
+    }
+
+    public static String normalize(String query) {
+        return query.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static List<Long> bestFirst(PriorityQueue<Match> best) {
+        List<Match> matches = new ArrayList<>(best);
+        matches.sort(Match.WORST_FIRST.reversed());
+        List<Long> ids = new ArrayList<>(matches.size());
+        for (Match match : matches) {
+            ids.add(match.id);
+        }
+        return ids;
+    }
+
+    // intersection of the posting lists of every trigram in the query, smallest list first
+    private long[] candidates(String q) {
+        Set<Long> trigrams = trigrams(q);
+        List<PostingList> lists = new ArrayList<>(trigrams.size());
+        for (Long trigram : trigrams) {
+            PostingList list = postings.get(trigram);
+            if (list == null) {
+                return new long[0];
+            }
+            lists.add(list);
+        }
+        lists.sort(Comparator.comparingInt(list -> list.size));
+
+        PostingList smallest = lists.get(0);
+        long[] result = new long[smallest.size];
+        int count = 0;
+        for (int i = 0; i < smallest.size; i++) {
+            long id = smallest.ids[i];
+            boolean inAll = true;
+            for (int l = 1; l < lists.size() && inAll; l++) {
+                inAll = lists.get(l).contains(id);
+            }
+            if (inAll) {
+                result[count++] = id;
+            }
+        }
+        return Arrays.copyOf(result, count);
+    }
+
+    private static void offer(PriorityQueue<Match> best, int limit, long id, String[] document, String q) {
+        int score = score(document, q);
+        if (score == 0) {
+            return;
+        }
+        Match match = new Match(id, score, document[0] == null ? 0 : document[0].length());
+        if (best.size() < limit) {
+            best.add(match);
+        } else if (Match.WORST_FIRST.compare(match, best.peek()) > 0) {
+            best.poll();
+            best.add(match);
+        }
+    }
+
+    // name matches rank above department matches, which rank above email matches; exact > prefix > substring
+    private static int score(String[] document, String q) {
+        int best = 0;
+        for (int field = 0; field < document.length; field++) {
+            String value = document[field];
+            if (value == null) {
+                continue;
+            }
+            int weight = 3 - field;
+            int score;
+            if (value.equals(q)) {
+                score = weight * 3 + 3;
+            } else if (value.startsWith(q)) {
+                score = weight * 3 + 2;
+            } else if (value.contains(q)) {
+                score = weight * 3 + 1;
+            } else {
+                continue;
+            }
+            best = Math.max(best, score);
+        }
+        return best;
+    }
+
+    private void apply(EmployeeChangedEvent event) {
+        if (event.getBefore() != null) {
+            remove(event.getBefore().getId());
+        }
+        if (event.getAfter() != null) {
+            add(documents, postings, event.getAfter());
+        }
+    }
+
+    private void remove(Long id) {
+        String[] document = documents.remove(id);
+        if (document == null) {
+            return;
+        }
+        for (Long trigram : trigrams(document)) {
+            PostingList list = postings.get(trigram);
+            if (list != null && list.remove(id) && list.size == 0) {
+                postings.remove(trigram);
+            }
+        }
+    }
+
+    private static void add(Map<Long, String[]> documents, Map<Long, PostingList> postings, Employee employee) {
+        String[] document = document(employee);
+        documents.put(employee.getId(), document);
+        for (Long trigram : trigrams(document)) {
+            postings.computeIfAbsent(trigram, t -> new PostingList()).add(employee.getId());
+        }
+    }
+
+    private static String[] document(Employee employee) {
+        return new String[]{
+                lower(employee.getName()),
+                lower(employee.getDepartment()),
+                lower(employee.getEmail())
+        };
+    }
+
+    private static String lower(String value) {
+        return value == null ? null : value.toLowerCase(Locale.ROOT);
+    }
+
+    private static Set<Long> trigrams(String... values) {
+        Set<Long> trigrams = new LinkedHashSet<>();
+        for (String value : values) {
+            if (value == null) {
+                continue;
+            }
+            for (int i = 0; i + 3 <= value.length(); i++) {
+                trigrams.add(((long) value.charAt(i) << 32) | ((long) value.charAt(i + 1) << 16) | value.charAt(i + 2));
+            }
+        }
+        return trigrams;
+    }
+
+    // sorted, growable array of ids; ids come from a sequence so adds are almost always appends
+    private static class PostingList {
+        private long[] ids = new long[4];
+        private int size;
+
+        void add(long id) {
+            int index = Arrays.binarySearch(ids, 0, size, id);
+            if (index >= 0) {
+                return;
+            }
+            index = -index - 1;
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            System.arraycopy(ids, index, ids, index + 1, size - index);
+            ids[index] = id;
+            size++;
+        }
+
+        boolean remove(long id) {
+            int index = Arrays.binarySearch(ids, 0, size, id);
+            if (index < 0) {
+                return false;
+            }
+            System.arraycopy(ids, index + 1, ids, index, size - index - 1);
+            size--;
+            return true;
+        }
+
+        boolean contains(long id) {
+            return Arrays.binarySearch(ids, 0, size, id) >= 0;
+        }
+    }
+
+    private static class Match {
+        // lowest score first, ties broken by longer name then higher id so shorter names and older rows win
+        private static final Comparator<Match> WORST_FIRST = Comparator.<Match>comparingInt(m -> m.score)
+                .thenComparing(Comparator.<Match>comparingInt(m -> m.nameLength).reversed())
+                .thenComparing(Comparator.<Match>comparingLong(m -> m.id).reversed());
+
+        private final long id;
+        private final int score;
+        private final int nameLength;
+
+        private Match(long id, int score, int nameLength) {
+            this.id = id;
+            this.score = score;
+            this.nameLength = nameLength;
+        }
+    }
+}
@@ -1,29 +1,68 @@
 package com.employeemanagement.service;
 
 
+import com.employeemanagement.dto.EmployeeBulkUpdate;
+import com.employeemanagement.dto.EmployeeFilter;
+import com.employeemanagement.dto.EmployeeLookupResult;
+import com.employeemanagement.dto.EmployeePatch;
+import com.employeemanagement.dto.KeysetPage;
+import com.employeemanagement.event.EmployeeBulkChangedEvent;
+import com.employeemanagement.event.EmployeeChangedEvent;
 import com.employeemanagement.exceptionhandling.AccessForbiddenException;
+import com.employeemanagement.exceptionhandling.InvalidBulkOperationException;
+import com.employeemanagement.exceptionhandling.InvalidCursorException;
 import com.employeemanagement.exceptionhandling.NoEmployeeException;
 import com.employeemanagement.model.Employee;
 import com.employeemanagement.repo.EmployeeRepo;
+import com.employeemanagement.repo.EmployeeSpecifications;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
+import java.math.RoundingMode;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
+// employee.service{class, method, exception} timer around every public method, see TimedAspect.
+// Reads are read-only transactions so they can be served by a replica when app.datasource.replicas is set
+@Timed(value = "employee.service", description = "EmployeeService method calls")
 @Service
 public class EmployeeService {
 
+    // ids per IN list of a multi-get
+    private static final int LOOKUP_CHUNK = 500;
+
     @Autowired
     private EmployeeRepo repo;
 
+    @Autowired
+    private EmployeeSearchIndex searchIndex;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private ChangeClock changeClock;
 
-    //get all employees
-    public List<Employee> getAllEmployees(int page, int size, String sort) {
+
+    //get all employees matching the filter (null or empty for all of them)
+    @Transactional(readOnly = true)
+    public List<Employee> getAllEmployees(int page, int size, String sort, EmployeeFilter filter) {
         String[] sortParams = sort.split(",");
         String sortField = sortParams[0];
         String sortDirection = sortParams[1];
@@ -36,21 +75,84 @@ public class EmployeeService {
         PageRequest pageRequest = PageRequest.of(page, size, sortObj);
 
         // Fetch the employees with pagination and sorting
-        Page<Employee> employeePage = repo.findAll(pageRequest);
+        Specification<Employee> spec = EmployeeSpecifications.matching(filter);
+        Page<Employee> employeePage = spec == null ? repo.findAll(pageRequest) : repo.findAll(spec, pageRequest);
 
         return employeePage.getContent();
     }
 
-    //add new employee
+    //get all employees, only the given fields
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> getAllEmployees(int page, int size, String sort, EmployeeFilter filter, List<String> fields) {
+        String[] sortParams = sort.split(",");
+        PageRequest pageRequest = PageRequest.of(page, size, Sort.by(Sort.Direction.fromString(sortParams[1]), sortParams[0]));
+        return EmployeeFields.toMaps(repo.findProjectedPage(fields, EmployeeSpecifications.matching(filter), pageRequest), fields);
+    }
+
+    //get employees with keyset (seek) pagination, never issues a count query
+    @Transactional(readOnly = true)
+    public KeysetPage<Employee> getEmployeesByCursor(int size, String sort, String cursor, EmployeeFilter filter) throws InvalidCursorException {
+        return seek(size, sort, cursor, filter, null);
+    }
+
+    //get employees with keyset pagination, only the given fields
+    @Transactional(readOnly = true)
+    public KeysetPage<Map<String, Object>> getEmployeesByCursor(int size, String sort, String cursor, EmployeeFilter filter, List<String> fields) throws InvalidCursorException {
+        KeysetPage<Employee> page = seek(size, sort, cursor, filter, fields);
+        return new KeysetPage<>(EmployeeFields.toMaps(page.getContent(), fields), page.getNextCursor(), page.getPrevCursor());
+    }
+
+    // fields null loads entities, otherwise a projection
+    private KeysetPage<Employee> seek(int size, String sort, String cursor, EmployeeFilter filter, List<String> fields) throws InvalidCursorException {
+        String[] sortParams = sort.split(",");
+        String sortField = sortParams[0];
+        boolean ascending = Sort.Direction.fromString(sortParams[1]).isAscending();
+
+        EmployeeCursor position = cursor == null ? null : EmployeeCursor.decode(cursor, sort);
+        boolean forward = position == null || position.isForward();
+
+        // going backward is the same seek with the order flipped, fetch one extra row to know if there is more
+        List<Employee> rows = repo.findPageAfter(sortField, forward == ascending, position != null,
+                position == null ? null : position.getValue(),
+                position == null ? null : position.getId(), size + 1, fields, EmployeeSpecifications.matching(filter));
+
+        boolean hasMore = rows.size() > size;
+        List<Employee> employees = new ArrayList<>(hasMore ? rows.subList(0, size) : rows);
+        if (!forward) {
+            Collections.reverse(employees);
+        }
+
+        String nextCursor = null;
+        String prevCursor = null;
+        if (!employees.isEmpty()) {
+            Employee first = employees.get(0);
+            Employee last = employees.get(employees.size() - 1);
+            if (forward ? hasMore : position != null) {
+                nextCursor = EmployeeCursor.of(last, sort, true).encode();
+            }
+            if (forward ? position != null : hasMore) {
+                prevCursor = EmployeeCursor.of(first, sort, false).encode();
+            }
+        }
+
+        return new KeysetPage<>(employees, nextCursor, prevCursor);
+    }
+
+    //add new employee, stamped in the transaction that inserts it
+    @Transactional
     public Employee addEmployee(Employee emp) {
 
-        emp.setCreatedAt(LocalDateTime.now());
-        emp.setUpdatedAt(LocalDateTime.now());
+        LocalDateTime now = changeClock.now();
+        emp.setCreatedAt(now);
+        emp.setUpdatedAt(now);
 
-        return repo.save(emp);
+        Employee saved = repo.save(emp);
+        eventPublisher.publishEvent(EmployeeChangedEvent.created(saved));
+        return saved;
     }
 
     //get single employee by id
+    @Transactional(readOnly = true)
     public Employee getEmployeeById(Long id) throws NoEmployeeException {
         Optional<Employee> emp = repo.findById(id);
         if (emp.isPresent()) {
@@ -60,7 +162,45 @@ public class EmployeeService {
         }
     }
 
+    //get single employee by id, only the given fields
+    @Transactional(readOnly = true)
+    public Map<String, Object> getEmployeeById(Long id, List<String> fields) throws NoEmployeeException {
+        List<Employee> emp = repo.findProjectedByIds(fields, List.of(id));
+        if (emp.isEmpty()) {
+            throw new NoEmployeeException("No Employee with id: " + id);
+        }
+        return EmployeeFields.toMap(emp.get(0), fields);
+    }
+
+    //get many employees by id, in request order with not found entries for unknown ids.
+    //fields null loads full employees; each distinct id is queried once, in IN lists of LOOKUP_CHUNK ids
+    @Transactional(readOnly = true)
+    public List<EmployeeLookupResult> getEmployeesByIds(List<Long> ids, List<String> fields) {
+        List<Long> distinct = List.copyOf(new LinkedHashSet<>(ids));
+        Map<Long, Object> found = new HashMap<>();
+        for (int from = 0; from < distinct.size(); from += LOOKUP_CHUNK) {
+            List<Long> chunk = distinct.subList(from, Math.min(from + LOOKUP_CHUNK, distinct.size()));
+            if (fields == null) {
+                for (Employee employee : repo.findAllById(chunk)) {
+                    found.put(employee.getId(), employee);
+                }
+            } else {
+                for (Employee employee : repo.findProjectedByIds(fields, chunk)) {
+                    found.put(employee.getId(), EmployeeFields.toMap(employee, fields));
+                }
+            }
+        }
+
+        List<EmployeeLookupResult> results = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            Object employee = found.get(id);
+            results.add(new EmployeeLookupResult(id, employee != null, employee));
+        }
+        return results;
+    }
+
     //update single employee by id
+    @Transactional
     public Employee updateEmployeeById(Long id, Employee employee) throws NoEmployeeException, AccessForbiddenException {
 
 //        // Ensure that users can only update their own data
@@ -68,39 +208,193 @@ public class EmployeeService {
 //            throw new AccessForBiddenException("You can only update your own records");
 //        }
 
-        Optional<Employee> emp = repo.findById(id);
+        Map<String, Object> values = new LinkedHashMap<>();
+        values.put("name", employee.getName());
+        values.put("department", employee.getDepartment());
+        values.put("age", employee.getAge());
+        values.put("email", employee.getEmail());
+        values.put("salary", employee.getSalary());
 
-        if (emp.isPresent()) {
-            Employee existingEmployee = emp.get();
+        Employee updated = update(id, values);
+        if (updated == null) {
+            throw new NoEmployeeException("Not able to update employee data.  No Employee with id " + id + " found");
+        }
+        return updated;
+    }
+
+    //update only the fields present in the patch
+    @Transactional
+    public Employee patchEmployeeById(Long id, EmployeePatch patch) throws NoEmployeeException {
+        Map<String, Object> values = new LinkedHashMap<>();
+        if (patch.getName() != null) {
+            values.put("name", patch.getName());
+        }
+        if (patch.getDepartment() != null) {
+            values.put("department", patch.getDepartment());
+        }
+        if (patch.getAge() != null) {
+            values.put("age", patch.getAge());
+        }
+        if (patch.getEmail() != null) {
+            values.put("email", patch.getEmail());
+        }
+        if (patch.getSalary() != null) {
+            values.put("salary", patch.getSalary());
+        }
 
-            existingEmployee.setName(employee.getName());
-            existingEmployee.setDepartment(employee.getDepartment());
-            existingEmployee.setAge(employee.getAge());
-            existingEmployee.setEmail(employee.getEmail());
-            existingEmployee.setSalary(employee.getSalary());
-            existingEmployee.setUpdatedAt(LocalDateTime.now());
+        // nothing to change, not a write
+        if (values.isEmpty()) {
+            return getEmployeeById(id);
+        }
 
-            repo.save(existingEmployee);
-            return existingEmployee;
-        } else {
+        Employee updated = update(id, values);
+        if (updated == null) {
             throw new NoEmployeeException("Not able to update employee data.  No Employee with id " + id + " found");
         }
+        return updated;
     }
 
-    //delete single employee by id
+    //delete single employee by id, leaving a tombstone for the change feed in the same transaction
+    @Transactional
     public String deleteEmployeeById(Long id) throws NoEmployeeException {
-        Optional<Employee> emp = repo.findById(id);
-        if (emp.isPresent()) {
-            repo.delete(emp.get());
-
-            return "Employee deleted successfully";
-        } else {
+        // one statement, no row back means no such employee
+        Employee deleted = repo.deleteReturningPrevious(id);
+        if (deleted == null) {
             throw new NoEmployeeException("Not able to delete employee data.  No Employee with id " + id + " found");
         }
+        repo.insertTombstone(id, changeClock.now());
+        eventPublisher.publishEvent(EmployeeChangedEvent.deleted(deleted));
+
+        return "Employee deleted successfully";
+    }
+
+    //raise salaries and/or move the department of every employee matching the filter, as one UPDATE statement.
+    //returns the number of rows written
+    @Transactional(rollbackFor = InvalidBulkOperationException.class)
+    public int updateEmployees(EmployeeFilter filter, EmployeeBulkUpdate update) throws InvalidBulkOperationException {
+        requireFilter(filter);
+        if (update.getDepartment() == null && update.getSalaryRaisePercent() == null) {
+            throw new InvalidBulkOperationException("Nothing to update. Give department and/or salaryRaisePercent");
+        }
+
+        // 5 (%) -> 1.05
+        BigDecimal factor = update.getSalaryRaisePercent() == null ? null
+                : BigDecimal.ONE.add(update.getSalaryRaisePercent().movePointLeft(2));
+        LocalDateTime now = changeClock.now();
+
+        List<Employee> updated;
+        try {
+            updated = repo.updateMatchingReturningPrevious(filter, update.getDepartment(), factor, now);
+        } catch (DataIntegrityViolationException e) {
+            // the whole statement is rejected, e.g. by the salary CHECK constraint
+            throw new InvalidBulkOperationException("The update would leave an employee with an invalid salary (minimum 30,000.00)");
+        }
+
+        // every row with its before and after, so caches, search index, stats and audit log stay exact,
+        // but as one event: per-row events would overflow the change stream subscribers' queues
+        List<EmployeeChangedEvent> changes = new ArrayList<>(updated.size());
+        for (Employee before : updated) {
+            Employee after = EmployeeChangedEvent.copyOf(before);
+            if (update.getDepartment() != null) {
+                after.setDepartment(update.getDepartment());
+            }
+            if (factor != null && before.getSalary() != null) {
+                after.setSalary(before.getSalary().multiply(factor).setScale(2, RoundingMode.HALF_UP));
+            }
+            after.setUpdatedAt(now);
+            changes.add(EmployeeChangedEvent.updated(before, after));
+        }
+        publishBulk(EmployeeChangedEvent.Type.UPDATED, changes);
+        return updated.size();
     }
 
-    //search employees by name or department
-    public List<Employee> searchEmployees(String query) {
-        return repo.findByNameContainingIgnoreCaseOrDepartmentContainingIgnoreCase(query, query);
+    //delete every employee matching the filter as one DELETE statement, with tombstones for the change feed.
+    //returns the number of rows deleted
+    @Transactional(rollbackFor = InvalidBulkOperationException.class)
+    public int deleteEmployees(EmployeeFilter filter) throws InvalidBulkOperationException {
+        requireFilter(filter);
+
+        List<Employee> deleted = repo.deleteMatchingReturningPrevious(filter);
+        repo.insertTombstones(deleted.stream().map(Employee::getId).toList(), changeClock.now());
+        publishBulk(EmployeeChangedEvent.Type.DELETED, deleted.stream().map(EmployeeChangedEvent::deleted).toList());
+        return deleted.size();
+    }
+
+    private void publishBulk(EmployeeChangedEvent.Type type, List<EmployeeChangedEvent> changes) {
+        if (!changes.isEmpty()) {
+            eventPublisher.publishEvent(new EmployeeBulkChangedEvent(type, changes));
+        }
+    }
+
+    // a bulk operation without any condition would hit the whole table, most likely by mistake
+    private static void requireFilter(EmployeeFilter filter) throws InvalidBulkOperationException {
+        if (filter == null || filter.isEmpty()) {
+            throw new InvalidBulkOperationException("A filter is required, e.g. ?department=Sales");
+        }
+    }
+
+    // one UPDATE of just the given columns; the statement hands back the old row, so the event still
+    // gets before and after without a read first. null when there is no employee with this id
+    private Employee update(Long id, Map<String, Object> values) {
+        LocalDateTime now = changeClock.now();
+        values.put("updatedAt", now);
+
+        Employee before = repo.updateReturningPrevious(id, values);
+        if (before == null) {
+            return null;
+        }
+
+        Employee after = EmployeeChangedEvent.copyOf(before);
+        after.setName((String) values.getOrDefault("name", before.getName()));
+        after.setDepartment((String) values.getOrDefault("department", before.getDepartment()));
+        after.setAge((Integer) values.getOrDefault("age", before.getAge()));
+        after.setEmail((String) values.getOrDefault("email", before.getEmail()));
+        after.setSalary((BigDecimal) values.getOrDefault("salary", before.getSalary()));
+        after.setUpdatedAt(now);
+
+        eventPublisher.publishEvent(EmployeeChangedEvent.updated(before, after));
+        return after;
+    }
+
+    //search employees by name, department or email, best matches first
+    @Transactional(readOnly = true)
+    public List<Employee> searchEmployees(String query, int limit) {
+        if (!searchIndex.isReady()) {
+            // index is still loading right after startup: same fields, trimming and ranking as the index, over LIKE matches
+            String q = query.trim();
+            List<Employee> matches = repo.findByNameContainingIgnoreCaseOrDepartmentContainingIgnoreCaseOrEmailContainingIgnoreCase(q, q, q);
+            return inRankingOrder(EmployeeSearchIndex.rank(matches, q, limit), matches);
+        }
+
+        List<Long> ids = searchIndex.search(query, limit);
+        return inRankingOrder(ids, repo.findAllById(ids));
+    }
+
+    //search employees, only the given fields
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> searchEmployees(String query, int limit, List<String> fields) {
+        if (!searchIndex.isReady()) {
+            return EmployeeFields.toMaps(searchEmployees(query, limit), fields);
+        }
+
+        List<Long> ids = searchIndex.search(query, limit);
+        return EmployeeFields.toMaps(inRankingOrder(ids, repo.findProjectedByIds(fields, ids)), fields);
+    }
+
+    private static List<Employee> inRankingOrder(List<Long> ids, Iterable<Employee> rows) {
+        Map<Long, Employee> employees = new HashMap<>();
+        for (Employee employee : rows) {
+            employees.put(employee.getId(), employee);
+        }
+
+        // keep the ranking order of the index
+        List<Employee> result = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            Employee employee = employees.get(id);
+            if (employee != null) {
+                result.add(employee);
+            }
+        }
+        return result;
     }
 }
@@ -0,0 +1,314 @@
+package com.employeemanagement.service;
+
+import com.employeemanagement.dto.DepartmentAggregateRow;
+import com.employeemanagement.dto.DepartmentStats;
+import com.employeemanagement.dto.SalaryRangeRow;
+import com.employeemanagement.event.EmployeeBulkChangedEvent;
+import com.employeemanagement.event.EmployeeChangedEvent;
+import com.employeemanagement.model.Employee;
+import com.employeemanagement.repo.EmployeeRepo;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// per-department headcount, salary and age aggregates kept in memory and updated on every employee change,
+// so the stats endpoint answers in O(departments). Rebuilt with one GROUP BY at startup and on a schedule
+@Service
+public class EmployeeStatsService {
+
+    private static final Logger log = LoggerFactory.getLogger(EmployeeStatsService.class);
+
+    private static final String[] AGE_BANDS = {"18-24", "25-34", "35-44", "45-54", "55-64", "65+"};
+
+    private final Object lock = new Object();
+
+    private Map<String, DepartmentAggregate> departments = new HashMap<>();
+
+    // changes committed after the rebuild's snapshot, applied on top of its result
+    private List<EmployeeChangedEvent> pendingChanges;
+
+    // read-held by a write transaction from its commit until its events are delivered, write-held while the rebuild
+    // fixes its snapshot. So no commit is half way through while the snapshot is taken
+    private final ReentrantReadWriteLock snapshotGate = new ReentrantReadWriteLock();
+
+    private volatile boolean ready;
+
+    @Autowired
+    private EmployeeRepo repo;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate snapshotTransaction;
+
+    // not read-only, so the snapshot comes from the primary: a lagging replica would miss commits that are
+    // delivered before the rebuild. Repeatable read keeps the snapshot of the first statement for the whole transaction
+    @PostConstruct
+    public void init() {
+        snapshotTransaction = new TransactionTemplate(transactionManager);
+        snapshotTransaction.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+    }
+
+    //get statistics per department, ordered by department name
+    public List<DepartmentStats> getDepartmentStats() {
+        if (!ready) {
+            return toStats(load());
+        }
+
+        refreshStaleSalaryRanges();
+
+        synchronized (lock) {
+            return toStats(departments);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        Map<String, DepartmentAggregate> rebuilt = snapshotTransaction.execute(status -> {
+            snapshotGate.writeLock().lock();
+            try {
+                // the first statement fixes the snapshot: every commit before it is in the result and already
+                // delivered, every later one is delivered into pendingChanges, so none is counted twice
+                repo.count();
+                synchronized (lock) {
+                    pendingChanges = new ArrayList<>();
+                }
+            } finally {
+                snapshotGate.writeLock().unlock();
+            }
+            return load();
+        });
+
+        synchronized (lock) {
+            for (EmployeeChangedEvent change : pendingChanges) {
+                apply(rebuilt, change);
+            }
+            pendingChanges = null;
+            departments = rebuilt;
+            ready = true;
+        }
+    }
+
+    // incremental updates can drift if an event is ever missed, recompute from the table now and then
+    @Scheduled(fixedDelayString = "${app.stats.reconcile-interval-ms:600000}",
+            initialDelayString = "${app.stats.reconcile-interval-ms:600000}")
+    public void reconcile() {
+        rebuild();
+        log.debug("Employee statistics reconciled");
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void beforeEmployeeCommit(EmployeeChangedEvent event) {
+        holdSnapshotGate();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void beforeEmployeesCommit(EmployeeBulkChangedEvent event) {
+        holdSnapshotGate();
+    }
+
+    // once per transaction, the lock is given back after its AFTER_COMMIT listeners, including ours, have run
+    private void holdSnapshotGate() {
+        if (TransactionSynchronizationManager.hasResource(snapshotGate)) {
+            return;
+        }
+        Lock commitLock = snapshotGate.readLock();
+        commitLock.lock();
+        TransactionSynchronizationManager.bindResource(snapshotGate, Boolean.TRUE);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(snapshotGate);
+                commitLock.unlock();
+            }
+        });
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEmployeeChanged(EmployeeChangedEvent event) {
+        synchronized (lock) {
+            if (pendingChanges != null) {
+                pendingChanges.add(event);
+            }
+            apply(departments, event);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEmployeesChanged(EmployeeBulkChangedEvent event) {
+        synchronized (lock) {
+            for (EmployeeChangedEvent change : event.getChanges()) {
+                if (pendingChanges != null) {
+                    pendingChanges.add(change);
+                }
+                apply(departments, change);
+            }
+        }
+    }
+
+    private Map<String, DepartmentAggregate> load() {
+        Map<String, DepartmentAggregate> result = new HashMap<>();
+        for (DepartmentAggregateRow row : repo.aggregateByDepartment()) {
+            DepartmentAggregate aggregate = new DepartmentAggregate();
+            aggregate.headcount = row.getHeadcount();
+            aggregate.salaryCount = row.getSalaryCount();
+            aggregate.salarySumCents = row.getSalarySum() == null ? 0 : toCents(row.getSalarySum());
+            aggregate.minSalary = row.getMinSalary();
+            aggregate.maxSalary = row.getMaxSalary();
+            aggregate.ageSum = row.getAgeSum();
+            aggregate.ageBands[0] = row.getAge18to24();
+            aggregate.ageBands[1] = row.getAge25to34();
+            aggregate.ageBands[2] = row.getAge35to44();
+            aggregate.ageBands[3] = row.getAge45to54();
+            aggregate.ageBands[4] = row.getAge55to64();
+            aggregate.ageBands[5] = row.getAge65plus();
+            result.put(row.getDepartment(), aggregate);
+        }
+        return result;
+    }
+
+    private static void apply(Map<String, DepartmentAggregate> departments, EmployeeChangedEvent event) {
+        if (event.getBefore() != null) {
+            remove(departments, event.getBefore());
+        }
+        if (event.getAfter() != null) {
+            add(departments, event.getAfter());
+        }
+    }
+
+    private static void add(Map<String, DepartmentAggregate> departments, Employee employee) {
+        DepartmentAggregate aggregate = departments.computeIfAbsent(employee.getDepartment(), d -> new DepartmentAggregate());
+        aggregate.headcount++;
+        aggregate.ageSum += employee.getAge();
+        aggregate.ageBands[ageBand(employee.getAge())]++;
+
+        BigDecimal salary = employee.getSalary();
+        if (salary != null) {
+            aggregate.salaryCount++;
+            aggregate.salarySumCents += toCents(salary);
+            // min/max only ever move outwards on an add, so this is safe even if the range is stale
+            if (aggregate.minSalary == null || salary.compareTo(aggregate.minSalary) < 0) {
+                aggregate.minSalary = salary;
+            }
+            if (aggregate.maxSalary == null || salary.compareTo(aggregate.maxSalary) > 0) {
+                aggregate.maxSalary = salary;
+            }
+        }
+    }
+
+    private static void remove(Map<String, DepartmentAggregate> departments, Employee employee) {
+        DepartmentAggregate aggregate = departments.get(employee.getDepartment());
+        if (aggregate == null) {
+            return;
+        }
+        aggregate.headcount--;
+        if (aggregate.headcount <= 0) {
+            departments.remove(employee.getDepartment());
+            return;
+        }
+        aggregate.ageSum -= employee.getAge();
+        aggregate.ageBands[ageBand(employee.getAge())]--;
+
+        BigDecimal salary = employee.getSalary();
+        if (salary != null) {
+            aggregate.salaryCount--;
+            aggregate.salarySumCents -= toCents(salary);
+            // removing the current min or max: the new one is only known to the table, fetch it lazily
+            if ((aggregate.minSalary != null && salary.compareTo(aggregate.minSalary) == 0)
+                    || (aggregate.maxSalary != null && salary.compareTo(aggregate.maxSalary) == 0)) {
+                aggregate.salaryRangeVersion++;
+                aggregate.salaryRangeStale = true;
+            }
+        }
+    }
+
+    // one indexed MIN/MAX query per department whose min or max salary was removed since the last call
+    private void refreshStaleSalaryRanges() {
+        Map<String, Long> stale = new HashMap<>();
+        synchronized (lock) {
+            departments.forEach((department, aggregate) -> {
+                if (aggregate.salaryRangeStale) {
+                    stale.put(department, aggregate.salaryRangeVersion);
+                }
+            });
+        }
+
+        stale.forEach((department, version) -> {
+            SalaryRangeRow range = repo.findSalaryRange(department);
+            synchronized (lock) {
+                DepartmentAggregate aggregate = departments.get(department);
+                // skip if another removal happened meanwhile, the next call picks it up
+                if (aggregate != null && aggregate.salaryRangeVersion == version) {
+                    aggregate.minSalary = range.getMinSalary();
+                    aggregate.maxSalary = range.getMaxSalary();
+                    aggregate.salaryRangeStale = false;
+                }
+            }
+        });
+    }
+
+    private static List<DepartmentStats> toStats(Map<String, DepartmentAggregate> departments) {
+        List<DepartmentStats> stats = new ArrayList<>(departments.size());
+        new TreeMap<>(departments).forEach((department, aggregate) -> {
+            Map<String, Long> ageDistribution = new LinkedHashMap<>();
+            for (int i = 0; i < AGE_BANDS.length; i++) {
+                ageDistribution.put(AGE_BANDS[i], aggregate.ageBands[i]);
+            }
+            BigDecimal averageSalary = aggregate.salaryCount == 0 ? null
+                    : BigDecimal.valueOf(aggregate.salarySumCents, 2)
+                    .divide(BigDecimal.valueOf(aggregate.salaryCount), 2, RoundingMode.HALF_UP);
+            double averageAge = aggregate.headcount == 0 ? 0 : (double) aggregate.ageSum / aggregate.headcount;
+
+            stats.add(new DepartmentStats(department, aggregate.headcount, averageSalary,
+                    aggregate.minSalary, aggregate.maxSalary, averageAge, ageDistribution));
+        });
+        return stats;
+    }
+
+    private static int ageBand(int age) {
+        if (age < 25) {
+            return 0;
+        }
+        return Math.min((age - 15) / 10, AGE_BANDS.length - 1);
+    }
+
+    // salary is DECIMAL(10, 2), so cents always fit a long
+    private static long toCents(BigDecimal salary) {
+        return salary.movePointRight(2).setScale(0, RoundingMode.HALF_UP).longValueExact();
+    }
+
+    private static class DepartmentAggregate {
+        private long headcount;
+        private long salaryCount;
+        private long salarySumCents;
+        private BigDecimal minSalary;
+        private BigDecimal maxSalary;
+        private boolean salaryRangeStale;
+        private long salaryRangeVersion;
+        private long ageSum;
+        private final long[] ageBands = new long[AGE_BANDS.length];
+    }
+}
@@ -0,0 +1,72 @@
+package com.employeemanagement.service;
+
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+
+// encodings a ResponseObject is served in, see ContentNegotiationConfig.
+// Used where responses are serialized ahead of time (EmployeeResponseCache, EmployeeListCache) and the
+// negotiation of the message converters does not apply
+public enum ResponseFormat {
+
+    JSON(MediaType.APPLICATION_JSON, ""),
+    CBOR(MediaType.APPLICATION_CBOR, "-cbor"),
+    SMILE(new MediaType("application", "x-jackson-smile"), "-smile");
+
+    private final MediaType mediaType;
+
+    // appended to ETags, every representation needs its own strong ETag
+    private final String etagSuffix;
+
+    ResponseFormat(MediaType mediaType, String etagSuffix) {
+        this.mediaType = mediaType;
+        this.etagSuffix = etagSuffix;
+    }
+
+    public MediaType getMediaType() {
+        return mediaType;
+    }
+
+    public String getEtagSuffix() {
+        return etagSuffix;
+    }
+
+    // the format with the highest quality in the Accept header; JSON for wildcards, a missing or invalid header,
+    // and when nothing listed is supported (as before, JSON is served regardless)
+    public static ResponseFormat negotiate(String accept) {
+        if (accept == null || accept.isBlank()) {
+            return JSON;
+        }
+        try {
+            ResponseFormat best = JSON;
+            double bestQuality = 0;
+            boolean bestIsWildcard = true;
+            for (MediaType type : MediaType.parseMediaTypes(accept)) {
+                boolean wildcard = type.isWildcardSubtype();
+                ResponseFormat format = wildcard ? (type.includes(MediaType.APPLICATION_JSON) ? JSON : null) : of(type);
+                // q=0 means not acceptable
+                if (format == null || type.getQualityValue() == 0) {
+                    continue;
+                }
+                // higher quality wins, on a tie a concrete type beats a wildcard (*/*, application/cbor -> CBOR)
+                double quality = type.getQualityValue();
+                if (quality > bestQuality || (quality == bestQuality && bestIsWildcard && !wildcard)) {
+                    best = format;
+                    bestQuality = quality;
+                    bestIsWildcard = wildcard;
+                }
+            }
+            return best;
+        } catch (InvalidMediaTypeException e) {
+            return JSON;
+        }
+    }
+
+    private static ResponseFormat of(MediaType type) {
+        for (ResponseFormat format : values()) {
+            if (format.mediaType.isCompatibleWith(type)) {
+                return format;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,32 @@
+package com.employeemanagement.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.stereotype.Component;
+
+// serializes responses with the same ObjectMappers the message converters use, so pre-serialized bytes
+// match what the converters would have written
+@Component
+public class ResponseSerializer {
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MappingJackson2CborHttpMessageConverter cborConverter;
+
+    @Autowired
+    private MappingJackson2SmileHttpMessageConverter smileConverter;
+
+    public byte[] serialize(ResponseFormat format, Object value) throws JsonProcessingException {
+        ObjectMapper mapper = switch (format) {
+            case JSON -> objectMapper;
+            case CBOR -> cborConverter.getObjectMapper();
+            case SMILE -> smileConverter.getObjectMapper();
+        };
+        return mapper.writeValueAsBytes(value);
+    }
+}
@@ -1,12 +1,14 @@
-INSERT INTO employees (name, department, age, email, salary)
+INSERT INTO employees (id, name, department, age, email, salary)
 VALUES
-('John Doe', 'Sales', 30, 'johndoe@example.com', 50000.00),
-('Jane Smith', 'Marketing', 28, 'janesmith@example.com', 55000.00),
-('Alice Johnson', 'Development', 35, 'alicej@example.com', 70000.00),
-('Bob Brown', 'Development', 40, 'bobbrown@example.com', 75000.00),
-('Charlie White', 'HR', 32, 'charliewhite@example.com', 65000.00),
-('David Black', 'Testing', 29, 'davidblack@example.com', 60000.00),
-('Johnson', 'HR', 30, 'johnson@example.com', 50000.00),
-('Mike May', 'Development', 25, 'mikemay@example.com', 55000.00),
-('Ben', 'Sales', 29, 'ben@example.com', 95000.00),
-('Sofie', 'Testing', 22, 'sofie@example.com', 63000.00);
+(1, 'John Doe', 'Sales', 30, 'johndoe@example.com', 50000.00),
+(2, 'Jane Smith', 'Marketing', 28, 'janesmith@example.com', 55000.00),
+(3, 'Alice Johnson', 'Development', 35, 'alicej@example.com', 70000.00),
+(4, 'Bob Brown', 'Development', 40, 'bobbrown@example.com', 75000.00),
+(5, 'Charlie White', 'HR', 32, 'charliewhite@example.com', 65000.00),
+(6, 'David Black', 'Testing', 29, 'davidblack@example.com', 60000.00),
+(7, 'Johnson', 'HR', 30, 'johnson@example.com', 50000.00),
+(8, 'Mike May', 'Development', 25, 'mikemay@example.com', 55000.00),
+(9, 'Ben', 'Sales', 29, 'ben@example.com', 95000.00),
+(10, 'Sofie', 'Testing', 22, 'sofie@example.com', 63000.00);
+
+INSERT INTO replication_heartbeat (id, beat_at) VALUES (1, 0);
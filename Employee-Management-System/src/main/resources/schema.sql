@@ -1,5 +1,8 @@
+-- pooled id allocation so Hibernate can batch employee inserts, must match @SequenceGenerator on Employee
+CREATE SEQUENCE employees_seq START WITH 100 INCREMENT BY 50;
+
 CREATE TABLE employees (
-    id INT AUTO_INCREMENT PRIMARY KEY,               -- Unique identifier
+    id BIGINT PRIMARY KEY,                           -- Unique identifier (from employees_seq)
     name VARCHAR(40) NOT NULL,                       -- Name (NOT NULL to reflect @NotBlank)
     department VARCHAR(50) NOT NULL,                 -- Department (instead of category, reflecting @NotBlank)
     age INT NOT NULL CHECK (age >= 18),               -- Age (with @Min(18) constraint)
@@ -9,6 +12,31 @@ CREATE TABLE employees (
     updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP -- Updated date (timestamp to reflect @LastModifiedDate)
 );
 
+-- (sortField, id) indexes backing keyset pagination on GET /api/employees
+CREATE INDEX idx_employees_name_id ON employees (name, id);
+CREATE INDEX idx_employees_department_id ON employees (department, id);
+CREATE INDEX idx_employees_age_id ON employees (age, id);
+CREATE INDEX idx_employees_salary_id ON employees (salary, id);
+
+-- composite indexes backing the filters on GET /api/employees: equality on department first, then the range column
+CREATE INDEX idx_employees_department_salary_id ON employees (department, salary, id);
+CREATE INDEX idx_employees_department_age_id ON employees (department, age, id);
+CREATE INDEX idx_employees_created_at_id ON employees (created_at, id);
+CREATE INDEX idx_employees_updated_at_id ON employees (updated_at, id);
+
+-- one row per deleted employee, read by GET /api/employees/changes next to the (updated_at, id) index
+CREATE TABLE employee_tombstones (
+    employee_id BIGINT PRIMARY KEY,                  -- id of the deleted employee (ids are never reused)
+    deleted_at TIMESTAMP NOT NULL                    -- purged after app.employees.changes.tombstone-retention
+);
+CREATE INDEX idx_employee_tombstones_deleted_at_id ON employee_tombstones (deleted_at, employee_id);
+
+-- stamped on the primary by ReplicaHealthCheck, each replica's copy tells how far behind it is
+CREATE TABLE replication_heartbeat (
+    id INT PRIMARY KEY,
+    beat_at BIGINT NOT NULL                          -- epoch millis of the last heartbeat
+);
+
 CREATE TABLE users (
     id INT AUTO_INCREMENT PRIMARY KEY,
     name VARCHAR(40) NOT NULL,
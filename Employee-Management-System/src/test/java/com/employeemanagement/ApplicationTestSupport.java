@@ -0,0 +1,71 @@
+package com.employeemanagement;
+
+import com.employeemanagement.dto.EmployeeFilter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+// base of the tests that run against the whole application. They share one configuration, so Spring's test
+// context cache boots the application (database, audit writer, schedulers, caches) once for all of them.
+// Subclasses must not add properties, profiles or context customizers of their own, and keep their rows apart
+// by id range and department, since the database is shared too. The server listens on a random port for the
+// tests that need what only a real Tomcat does, such as response compression; the rest go through MockMvc
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.datasource.url=jdbc:h2:mem:application-test;DB_CLOSE_DELAY=-1",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.show-sql=false",
+        "app.audit.directory=target/test-audit/application",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.employeemanagement.repo.RecordingStatementInspector"
+})
+@AutoConfigureMockMvc
+public abstract class ApplicationTestSupport {
+
+    @Autowired
+    protected JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    protected MockMvc mockMvc;
+
+    // straight into the table: no events, so caches, search index and stats do not know these rows
+    protected void insertEmployees(List<EmployeeRow> rows) {
+        List<Object[]> values = new ArrayList<>(rows.size());
+        for (EmployeeRow row : rows) {
+            values.add(new Object[]{row.id(), row.name(), row.department(), row.age(), row.email(), row.salary(),
+                    row.createdAt(), row.updatedAt()});
+        }
+        jdbcTemplate.batchUpdate("insert into employees (id, name, department, age, email, salary, created_at, updated_at) "
+                + "values (?, ?, ?, ?, ?, ?, ?, ?)", values);
+    }
+
+    protected void insertEmployee(long id, String department, String salary) {
+        insertEmployees(List.of(EmployeeRow.of(id, department, new BigDecimal(salary))));
+    }
+
+    protected static EmployeeFilter departmentFilter(String department) {
+        EmployeeFilter filter = new EmployeeFilter();
+        filter.setDepartment(List.of(department));
+        return filter;
+    }
+
+    protected BigDecimal salary(long id) {
+        return jdbcTemplate.queryForObject("select salary from employees where id = ?", BigDecimal.class, id);
+    }
+
+    public record EmployeeRow(long id, String name, String department, int age, String email, BigDecimal salary,
+                              LocalDateTime createdAt, LocalDateTime updatedAt) {
+
+        // age 30, created and updated now
+        public static EmployeeRow of(long id, String department, BigDecimal salary) {
+            LocalDateTime now = LocalDateTime.now();
+            return new EmployeeRow(id, "Employee " + id, department, 30, "employee" + id + "@example.com", salary, now, now);
+        }
+    }
+}
@@ -3,7 +3,7 @@ package com.employeemanagement;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
 
-@SpringBootTest
+@SpringBootTest(properties = "app.audit.directory=target/test-audit/context-loads")
 class EmployeeManagementSystemApplicationTests {
 
 	@Test
@@ -0,0 +1,66 @@
+package com.employeemanagement.config;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class GradientLimiterTest {
+
+    private final ConcurrencyLimitProperties properties = new ConcurrencyLimitProperties();
+
+    private GradientLimiter limiter(int initialLimit) {
+        return new GradientLimiter("test", new ConcurrencyLimitProperties.Group(initialLimit, 2, 200), properties);
+    }
+
+    // admits `count` requests, then completes them all with the given latency
+    private void round(GradientLimiter limiter, int count, long latencyMillis) {
+        int admitted = 0;
+        while (admitted < count && limiter.tryAcquire()) {
+            admitted++;
+        }
+        for (int i = 0; i < admitted; i++) {
+            limiter.release(TimeUnit.MILLISECONDS.toNanos(latencyMillis), true);
+        }
+    }
+
+    @Test
+    void rejectsAtTheLimit() {
+        GradientLimiter limiter = limiter(3);
+        assertTrue(limiter.tryAcquire());
+        assertTrue(limiter.tryAcquire());
+        assertTrue(limiter.tryAcquire());
+        assertFalse(limiter.tryAcquire());
+        limiter.release(1, false);
+        assertTrue(limiter.tryAcquire());
+        assertEquals(3, limiter.getInFlight());
+    }
+
+    @Test
+    void growsWhileLatencyHoldsAndShrinksWhenItRises() {
+        GradientLimiter limiter = limiter(20);
+        for (int i = 0; i < 50; i++) {
+            round(limiter, limiter.getLimit(), 10);
+        }
+        int grown = limiter.getLimit();
+        assertTrue(grown > 20, "limit " + grown);
+
+        // requests start queueing: latency quadruples
+        for (int i = 0; i < 2; i++) {
+            round(limiter, limiter.getLimit(), 40);
+        }
+        assertTrue(limiter.getLimit() < grown * 3 / 4, "limit " + limiter.getLimit());
+    }
+
+    @Test
+    void doesNotGrowWhenUnused() {
+        GradientLimiter limiter = limiter(50);
+        for (int i = 0; i < 100; i++) {
+            round(limiter, 5, 10);
+        }
+        assertEquals(50, limiter.getLimit());
+    }
+}
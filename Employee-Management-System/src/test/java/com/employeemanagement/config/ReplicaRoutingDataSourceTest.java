@@ -0,0 +1,85 @@
+package com.employeemanagement.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// the replicas profile: replica-1 shares the primary's H2 database, replica-2 is an empty one that never catches up
+@SpringBootTest(properties = {
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.show-sql=false",
+        "app.audit.enabled=false"
+})
+@ActiveProfiles("replicas")
+class ReplicaRoutingDataSourceTest {
+
+    @Autowired
+    private ReplicaRoutingDataSource routingDataSource;
+
+    @Autowired
+    private ReplicaHealthCheck healthCheck;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    void checkReplicas() {
+        healthCheck.check();
+    }
+
+    @AfterEach
+    void clearAuthentication() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void laggingReplicaIsEjected() {
+        List<ReplicaRoutingDataSource.ReplicaNode> replicas = routingDataSource.getReplicas();
+        assertTrue(replicas.get(0).isHealthy());
+        assertFalse(replicas.get(1).isHealthy());
+    }
+
+    @Test
+    void readOnlyTransactionsGoToAHealthyReplica() {
+        assertEquals("replica-1", lookupKey(true));
+        assertEquals("replica-1", lookupKey(true));
+    }
+
+    @Test
+    void writesGoToThePrimary() {
+        assertEquals(ReplicaRoutingDataSource.PRIMARY, lookupKey(false));
+    }
+
+    @Test
+    void clientReadsItsOwnWritesFromThePrimary() {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken("writer@example.com", null, List.of()));
+        lookupKey(false);
+
+        assertEquals(ReplicaRoutingDataSource.PRIMARY, lookupKey(true));
+
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken("reader@example.com", null, List.of()));
+        assertEquals("replica-1", lookupKey(true));
+    }
+
+    private Object lookupKey(boolean readOnly) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(readOnly);
+        return transaction.execute(status -> routingDataSource.determineCurrentLookupKey());
+    }
+}
@@ -0,0 +1,145 @@
+package com.employeemanagement.repo;
+
+import com.employeemanagement.ApplicationTestSupport;
+import com.employeemanagement.dto.EmployeeFilter;
+import com.employeemanagement.dto.KeysetPage;
+import com.employeemanagement.model.Employee;
+import com.employeemanagement.service.EmployeeService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// runs each filter shape through EmployeeService the way GET /api/employees does (a sorted page with its count
+// query, or a keyset page) and asks H2 to EXPLAIN the SQL Hibernate generated for it, so a filter that stops
+// hitting its composite index fails here instead of turning into a table scan in production
+class EmployeeFilterIndexTest extends ApplicationTestSupport {
+
+    private static final String[] DEPARTMENTS = {"Sales", "Marketing", "Development", "HR", "Testing", "Finance", "Support", "Legal"};
+
+    // page 1 of 20: both the OFFSET and the FETCH FIRST parameter are 20
+    private static final int PAGE = 1;
+    private static final int SIZE = 20;
+
+    private static boolean seeded;
+
+    @Autowired
+    private EmployeeService service;
+
+    @Test
+    void departmentAndSalaryRangeUsesDepartmentSalaryIndex() {
+        EmployeeFilter filter = new EmployeeFilter();
+        filter.setDepartment(List.of("Development"));
+        filter.setMinSalary(new BigDecimal("60000"));
+        filter.setMaxSalary(new BigDecimal("90000"));
+
+        assertPageIndex(filter, "salary,asc", "IDX_EMPLOYEES_DEPARTMENT_SALARY_ID",
+                "Development", new BigDecimal("60000"), new BigDecimal("90000"));
+    }
+
+    @Test
+    void createdWindowUsesCreatedAtIndex() {
+        LocalDateTime from = LocalDateTime.now().minusDays(7);
+        LocalDateTime to = LocalDateTime.now().minusDays(1);
+        EmployeeFilter filter = new EmployeeFilter();
+        filter.setCreatedFrom(from);
+        filter.setCreatedTo(to);
+
+        assertPageIndex(filter, "name,asc", "IDX_EMPLOYEES_CREATED_AT_ID", from, to);
+    }
+
+    @Test
+    void updatedWindowUsesUpdatedAtIndex() {
+        LocalDateTime from = LocalDateTime.now().minusDays(7);
+        EmployeeFilter filter = new EmployeeFilter();
+        filter.setUpdatedFrom(from);
+
+        assertPageIndex(filter, "name,asc", "IDX_EMPLOYEES_UPDATED_AT_ID", from);
+    }
+
+    @Test
+    void departmentAndAgeRangeSeeksOnDepartmentAgeIndex() throws Exception {
+        EmployeeFilter filter = new EmployeeFilter();
+        filter.setDepartment(List.of("Sales"));
+        filter.setMinAge(30);
+        filter.setMaxAge(40);
+        seed();
+
+        // the second page carries the keyset condition: age > ? or (age = ? and id > ?)
+        KeysetPage<Employee> first = service.getEmployeesByCursor(SIZE, "age,asc", null, filter);
+        assertNotNull(first.getNextCursor());
+        Employee last = first.getContent().get(first.getContent().size() - 1);
+        RecordingStatementInspector.clear();
+        service.getEmployeesByCursor(SIZE, "age,asc", first.getNextCursor(), filter);
+
+        assertIndex(RecordingStatementInspector.lastSelect(), "IDX_EMPLOYEES_DEPARTMENT_AGE_ID",
+                "Sales", 30, 40, last.getAge(), last.getAge(), last.getId(), SIZE + 1);
+    }
+
+    @Test
+    void severalDepartmentsSeekOnDepartmentIdIndex() throws Exception {
+        EmployeeFilter filter = new EmployeeFilter();
+        filter.setDepartment(List.of("HR", "Legal"));
+        seed();
+
+        // ORDER BY department, id is exactly (department, id), the other department indexes would need a sort
+        RecordingStatementInspector.clear();
+        service.getEmployeesByCursor(SIZE, "department,asc", null, filter);
+
+        assertIndex(RecordingStatementInspector.lastSelect(), "IDX_EMPLOYEES_DEPARTMENT_ID", "HR", "Legal", SIZE + 1);
+    }
+
+    // the page select (ORDER BY ... OFFSET ? ROWS FETCH FIRST ? ROWS ONLY) and its count query both use the index
+    private void assertPageIndex(EmployeeFilter filter, String sort, String index, Object... parameters) {
+        seed();
+        RecordingStatementInspector.clear();
+        List<Employee> employees = service.getAllEmployees(PAGE, SIZE, sort, filter);
+        assertEquals(SIZE, employees.size());
+
+        List<String> selects = RecordingStatementInspector.selects();
+        String page = selects.stream().filter(sql -> !sql.startsWith("select count(")).findFirst().orElseThrow();
+        String count = selects.stream().filter(sql -> sql.startsWith("select count(")).findFirst().orElseThrow();
+        assertTrue(page.contains(" order by ") && page.contains(" offset "), () -> "Not a sorted page: " + page);
+
+        List<Object> pageParameters = new ArrayList<>(List.of(parameters));
+        pageParameters.add(PAGE * SIZE);
+        pageParameters.add(SIZE);
+        assertIndex(page, index, pageParameters.toArray());
+        assertIndex(count, index, parameters);
+    }
+
+    // the exact index, not one whose name merely starts with it
+    private void assertIndex(String sql, String index, Object... parameters) {
+        String plan = jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class, parameters);
+
+        Pattern exact = Pattern.compile("\\bPUBLIC\\." + index + "\\b");
+        assertTrue(exact.matcher(plan.toUpperCase()).find(), () -> "Expected " + index + " in plan:\n" + plan);
+        assertFalse(plan.contains("tableScan"), () -> "Unexpected table scan in plan:\n" + plan);
+    }
+
+    // enough rows for the optimizer to prefer an index over scanning, ids above the data.sql ones
+    private void seed() {
+        if (seeded) {
+            return;
+        }
+        List<EmployeeRow> rows = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            long id = 100_000 + i;
+            rows.add(new EmployeeRow(id, "Employee " + id, DEPARTMENTS[i % DEPARTMENTS.length], 18 + i % 50,
+                    "employee" + id + "@example.com", BigDecimal.valueOf(30_000 + (i * 37L) % 90_000),
+                    LocalDateTime.now().minusDays(i % 365), LocalDateTime.now().minusHours(i % 1000)));
+        }
+        insertEmployees(rows);
+        jdbcTemplate.execute("ANALYZE");
+        seeded = true;
+    }
+}
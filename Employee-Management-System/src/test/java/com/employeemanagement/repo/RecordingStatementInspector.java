@@ -0,0 +1,36 @@
+package com.employeemanagement.repo;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+// remembers every SQL statement Hibernate prepares, so tests can look at what a query was turned into
+public class RecordingStatementInspector implements StatementInspector {
+
+    private static final List<String> statements = new CopyOnWriteArrayList<>();
+
+    @Override
+    public String inspect(String sql) {
+        statements.add(sql);
+        return sql;
+    }
+
+    public static void clear() {
+        statements.clear();
+    }
+
+    // every select since the last clear, oldest first
+    public static List<String> selects() {
+        return statements.stream().filter(sql -> sql.startsWith("select")).toList();
+    }
+
+    public static String lastSelect() {
+        for (int i = statements.size() - 1; i >= 0; i--) {
+            if (statements.get(i).startsWith("select")) {
+                return statements.get(i);
+            }
+        }
+        throw new IllegalStateException("No select statement recorded");
+    }
+}
@@ -0,0 +1,84 @@
+package com.employeemanagement.service;
+
+import com.employeemanagement.ApplicationTestSupport;
+import com.employeemanagement.dto.EmployeeBulkUpdate;
+import com.employeemanagement.event.EmployeeBulkChangedEvent;
+import com.employeemanagement.event.EmployeeChangedEvent;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// a bulk write touching more rows than a change stream subscriber can buffer publishes one event,
+// so subscribers stay connected instead of being dropped for falling behind
+@RecordApplicationEvents
+class EmployeeBulkEventsTest extends ApplicationTestSupport {
+
+    // more than the default app.employees.changes.stream.buffer-size of 256
+    private static final int ROWS = 300;
+
+    @Autowired
+    private EmployeeService service;
+
+    @Autowired
+    private EmployeeChangeStream changeStream;
+
+    @Autowired
+    private ApplicationEvents events;
+
+    @Value("${app.employees.changes.stream.buffer-size}")
+    private int bufferSize;
+
+    @Test
+    void bulkUpdateIsOneEventAndKeepsStreamSubscribers() throws Exception {
+        seed("BulkUpdate", 200_000);
+        SseEmitter emitter = changeStream.subscribe();
+        int subscribers = changeStream.getSubscriberCount();
+
+        EmployeeBulkUpdate update = new EmployeeBulkUpdate(null, new BigDecimal("5"));
+        assertEquals(ROWS, service.updateEmployees(departmentFilter("BulkUpdate"), update));
+
+        assertEquals(0, events.stream(EmployeeChangedEvent.class).count());
+        List<EmployeeBulkChangedEvent> bulk = events.stream(EmployeeBulkChangedEvent.class).toList();
+        assertEquals(1, bulk.size());
+        assertEquals(EmployeeChangedEvent.Type.UPDATED, bulk.get(0).getType());
+        assertEquals(ROWS, bulk.get(0).getChanges().size());
+        assertEquals(subscribers, changeStream.getSubscriberCount());
+        emitter.complete();
+    }
+
+    @Test
+    void bulkDeleteIsOneEventAndKeepsStreamSubscribers() throws Exception {
+        seed("BulkDelete", 300_000);
+        SseEmitter emitter = changeStream.subscribe();
+        int subscribers = changeStream.getSubscriberCount();
+
+        assertEquals(ROWS, service.deleteEmployees(departmentFilter("BulkDelete")));
+
+        assertEquals(0, events.stream(EmployeeChangedEvent.class).count());
+        List<EmployeeBulkChangedEvent> bulk = events.stream(EmployeeBulkChangedEvent.class).toList();
+        assertEquals(1, bulk.size());
+        assertEquals(EmployeeChangedEvent.Type.DELETED, bulk.get(0).getType());
+        assertEquals(ROWS, bulk.get(0).getEmployeeIds().size());
+        assertEquals(subscribers, changeStream.getSubscriberCount());
+        emitter.complete();
+    }
+
+    private void seed(String department, long firstId) {
+        assertTrue(ROWS > bufferSize, "the bulk change has to be larger than a subscriber's queue");
+        List<EmployeeRow> rows = new ArrayList<>();
+        for (int i = 0; i < ROWS; i++) {
+            rows.add(EmployeeRow.of(firstId + i, department, new BigDecimal("50000.00")));
+        }
+        insertEmployees(rows);
+    }
+}
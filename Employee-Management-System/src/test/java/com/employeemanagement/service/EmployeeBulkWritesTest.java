@@ -0,0 +1,95 @@
+package com.employeemanagement.service;
+
+import com.employeemanagement.ApplicationTestSupport;
+import com.employeemanagement.dto.EmployeeBulkUpdate;
+import com.employeemanagement.event.EmployeeBulkChangedEvent;
+import com.employeemanagement.event.EmployeeChangedEvent;
+import com.employeemanagement.model.Employee;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// bulk update and delete by filter are OLD TABLE statements built by hand in EmployeeRepoImpl. The event's after
+// image is computed in Java, so it has to round like the database; a rejected row rejects the whole statement
+@RecordApplicationEvents
+class EmployeeBulkWritesTest extends ApplicationTestSupport {
+
+    @Autowired
+    private EmployeeService service;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private ApplicationEvents events;
+
+    @Test
+    void bulkRaiseMatchesTheEventsAfterImage() throws Exception {
+        // x.xx5 after the raise: HALF_UP and HALF_EVEN disagree on 31500.105
+        insertEmployee(500_000L, "BulkRaise", "30000.10");
+        insertEmployee(500_001L, "BulkRaise", "31234.57");
+        insertEmployee(500_002L, "BulkRaise", "45678.99");
+        insertEmployee(500_003L, "BulkRaise", "33333.33");
+
+        service.updateEmployees(departmentFilter("BulkRaise"), new EmployeeBulkUpdate(null, new BigDecimal("5")));
+
+        EmployeeBulkChangedEvent event = events.stream(EmployeeBulkChangedEvent.class).findFirst().orElseThrow();
+        assertEquals(4, event.getChanges().size());
+        for (EmployeeChangedEvent change : event.getChanges()) {
+            Employee after = change.getAfter();
+            BigDecimal stored = salary(after.getId());
+            assertEquals(0, stored.compareTo(after.getSalary()), () -> "Employee " + after.getId() + ": database has "
+                    + stored + ", event has " + after.getSalary());
+        }
+        assertEquals(0, new BigDecimal("31500.11").compareTo(salary(500_000L)));
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void salaryCheckViolationRollsBackTheWholeUpdateAndAnswers400() throws Exception {
+        // -50%: 70000.00 -> 35000.00 is fine, 40000.00 -> 20000.00 breaks the CHECK
+        insertEmployee(600_000L, "BulkCheck", "70000.00");
+        insertEmployee(600_001L, "BulkCheck", "40000.00");
+
+        // JwtFilter wants a token, the ADMIN role comes from @WithMockUser
+        String token = jwtService.generateToken("admin@example.com", "ROLE_ADMIN");
+        mockMvc.perform(patch("/api/employees").param("department", "BulkCheck")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"salaryRaisePercent\": -50}"))
+                .andExpect(status().isBadRequest());
+
+        assertEquals(0, new BigDecimal("70000.00").compareTo(salary(600_000L)));
+        assertEquals(0, new BigDecimal("40000.00").compareTo(salary(600_001L)));
+        assertEquals(0, events.stream(EmployeeBulkChangedEvent.class).count());
+    }
+
+    @Test
+    void bulkDeleteWritesTombstones() throws Exception {
+        List<Long> ids = List.of(700_000L, 700_001L, 700_002L);
+        for (Long id : ids) {
+            insertEmployee(id, "BulkTombstones", "50000.00");
+        }
+
+        assertEquals(ids.size(), service.deleteEmployees(departmentFilter("BulkTombstones")));
+
+        for (Long id : ids) {
+            assertEquals(0, jdbcTemplate.queryForObject("select count(*) from employees where id = ?", Integer.class, id));
+            assertNotNull(jdbcTemplate.queryForObject(
+                    "select deleted_at from employee_tombstones where employee_id = ?", LocalDateTime.class, id));
+        }
+    }
+}
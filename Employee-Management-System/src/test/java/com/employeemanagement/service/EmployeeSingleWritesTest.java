@@ -0,0 +1,62 @@
+package com.employeemanagement.service;
+
+import com.employeemanagement.ApplicationTestSupport;
+import com.employeemanagement.dto.EmployeePatch;
+import com.employeemanagement.exceptionhandling.NoEmployeeException;
+import com.employeemanagement.model.Employee;
+import com.employeemanagement.repo.RecordingStatementInspector;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// update, patch and delete by id are single OLD TABLE statements built by hand in EmployeeRepoImpl: no row back
+// has to mean no such employee, and a patch must only touch the columns it carries
+class EmployeeSingleWritesTest extends ApplicationTestSupport {
+
+    private static final long UNKNOWN_ID = 999_999L;
+
+    @Autowired
+    private EmployeeService service;
+
+    @Test
+    void updateOfUnknownIdIsNoEmployee() {
+        Employee employee = new Employee(null, "Nobody", "Sales", 30, "nobody@example.com", new BigDecimal("50000.00"), null, null);
+
+        assertThrows(NoEmployeeException.class, () -> service.updateEmployeeById(UNKNOWN_ID, employee));
+    }
+
+    @Test
+    void deleteOfUnknownIdIsNoEmployeeAndLeavesNoTombstone() {
+        assertThrows(NoEmployeeException.class, () -> service.deleteEmployeeById(UNKNOWN_ID));
+
+        assertEquals(0, jdbcTemplate.queryForObject(
+                "select count(*) from employee_tombstones where employee_id = ?", Integer.class, UNKNOWN_ID));
+    }
+
+    @Test
+    void patchWritesOnlyThePresentColumns() throws Exception {
+        long id = 400_000L;
+        insertEmployee(id, "SinglePatch", "50000.00");
+        // another writer changes the email, a patch of the name must not put the old one back
+        jdbcTemplate.update("update employees set email = ? where id = ?", "other@example.com", id);
+
+        RecordingStatementInspector.clear();
+        Employee patched = service.patchEmployeeById(id, new EmployeePatch("After", null, null, null, null));
+
+        String sql = RecordingStatementInspector.lastSelect();
+        assertTrue(sql.contains("update employees set name = ?, updated_at = ? where id = ?"), () -> "Unexpected statement: " + sql);
+        assertEquals("After", patched.getName());
+        Map<String, Object> row = jdbcTemplate.queryForMap("select name, department, age, email, salary from employees where id = ?", id);
+        assertEquals("After", row.get("NAME"));
+        assertEquals("SinglePatch", row.get("DEPARTMENT"));
+        assertEquals(30, row.get("AGE"));
+        assertEquals("other@example.com", row.get("EMAIL"));
+        assertEquals(0, new BigDecimal("50000.00").compareTo((BigDecimal) row.get("SALARY")));
+    }
+}